@@ -14,6 +14,12 @@ export interface LoginCredentials {
     password: string;
 }
 
+// Dashboard figures (counts, revenue, payment breakdowns, latest order per customer)
+export const getDashboard = async () => {
+    const response = await axiosInstance.get('/admins/dashboard');
+    return response.data;
+};
+
 // Admin Registration
 export const registerAdmin = async (adminData: Admin) => {
     try {
@@ -103,4 +109,4 @@ export const pingAdminBackend = async () => {
         console.error('Admin backend ping error:', error);
         throw new Error(error.response?.data?.message || 'Admin backend ping failed');
     }
-};
\ No newline at end of file
+};
\ No newline at end of file
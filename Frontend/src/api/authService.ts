@@ -95,6 +95,11 @@ export const getCurrentUser = async () => {
 };
 
 export const logout = () => {
+  // Revoke the token server-side; local state is cleared whether or not this succeeds
+  const token = localStorage.getItem('authToken');
+  if (token) {
+    axiosInstance.post('/auth/logout', null, { headers: { Authorization: `Bearer ${token}` } }).catch(() => {});
+  }
   localStorage.removeItem('authToken');
   localStorage.removeItem('currentUser');
   localStorage.removeItem('userRole');
@@ -6,6 +6,24 @@ export const createOrder = async (orderData: any) => {
   return response.data;
 };
 
+// Place the whole cart as one multi-line order
+export const checkout = async (checkoutData: {
+  customerID: string;
+  paymentMethod: string;
+  lines: { productID: string; quantity: number }[];
+}) => {
+  const response = await axios.post("/orders/checkout", checkoutData);
+  return response.data;
+};
+
+// One page of a customer's order history, newest first
+export const getCustomerOrders = async (customerID: string, cursor?: string, size = 20) => {
+  const response = await axios.get(`/orders/customer/${encodeURIComponent(customerID)}`, {
+    params: { cursor, size }
+  });
+  return response.data;
+};
+
 // Get all orders
 export const getAllOrders = async () => {
   const response = await axios.get("/orders/all");
@@ -13,20 +13,80 @@ export interface NewProduct {
     features?: string[];
 }
 
+// Sizes, colours and features arrive as JSON arrays
+const toProduct = (p: any): Product => ({
+    id: p.productID,
+    name: p.name,
+    description: p.description,
+    price: p.price,
+    image: p.imageUrl,
+    category: p.category && p.category.trim() ? p.category : 'Uncategorized',
+    inStock: typeof p.inStock === 'boolean' ? p.inStock : true,
+    sizes: Array.isArray(p.sizes) ? p.sizes : [],
+    colors: Array.isArray(p.colors) ? p.colors : [],
+    features: Array.isArray(p.features) ? p.features : [],
+});
+
 export const getAllProducts = async (): Promise<Product[]> => {
     const response = await axiosInstance.get('/products/all');
-    return response.data.map((p: any) => ({
-        id: p.productID,
-        name: p.name,
-        description: p.description,
-        price: p.price,
-        image: p.imageUrl,
-        category: p.category && p.category.trim() ? p.category : 'Uncategorized',
-        inStock: typeof p.inStock === 'boolean' ? p.inStock : true,
-        sizes: p.sizes ? p.sizes.split(',').filter((s: string) => s.trim()) : [],
-        colors: p.colors ? p.colors.split(',').filter((c: string) => c.trim()) : [],
-        features: p.features ? p.features.split(',').filter((f: string) => f.trim()) : [],
-    }));
+    return response.data.map(toProduct);
+};
+
+export interface ProductPageQuery {
+    sort?: 'name' | 'price' | 'id';
+    direction?: 'asc' | 'desc';
+    category?: string;
+    minPrice?: number;
+    maxPrice?: number;
+    inStock?: boolean;
+    cursor?: string;
+    size?: number;
+}
+
+export interface ProductPage {
+    items: Product[];
+    nextCursor: string | null;
+    hasMore: boolean;
+}
+
+export const getProductPage = async (query: ProductPageQuery = {}): Promise<ProductPage> => {
+    const response = await axiosInstance.get('/products/page', { params: query });
+    return {
+        items: response.data.items.map(toProduct),
+        nextCursor: response.data.nextCursor,
+        hasMore: response.data.hasMore,
+    };
+};
+
+export const searchProducts = async (q: string, limit = 20): Promise<Product[]> => {
+    const response = await axiosInstance.get('/products/search', { params: { q, limit } });
+    return response.data.map(toProduct);
+};
+
+export interface FacetSelection {
+    category?: string[];
+    size?: string[];
+    color?: string[];
+    price?: string[];
+    inStock?: string[];
+}
+
+export interface FacetedProducts {
+    products: Product[];
+    total: number;
+    facets: Record<string, Record<string, number>>;
+}
+
+export const getFacetedProducts = async (selection: FacetSelection = {}, limit = 20): Promise<FacetedProducts> => {
+    const response = await axiosInstance.get('/products/facets', {
+        params: { ...selection, limit },
+        paramsSerializer: { indexes: null },
+    });
+    return {
+        products: response.data.products.map(toProduct),
+        total: response.data.total,
+        facets: response.data.facets,
+    };
 };
 
 export const createProduct = async (product: NewProduct): Promise<Product> => {
@@ -37,23 +97,11 @@ export const createProduct = async (product: NewProduct): Promise<Product> => {
         imageUrl: product.image,
         category: product.category,
         inStock: typeof product.inStock === 'boolean' ? product.inStock : true,
-        sizes: product.sizes && product.sizes.length > 0 ? product.sizes.join(',') : '',
-        colors: product.colors && product.colors.length > 0 ? product.colors.join(',') : '',
-        features: product.features && product.features.length > 0 ? product.features.join(',') : '',
+        sizes: product.sizes ?? [],
+        colors: product.colors ?? [],
+        features: product.features ?? [],
     });
-    const p = response.data;
-    return {
-        id: p.productID,
-        name: p.name,
-        description: p.description,
-        price: p.price,
-        image: p.imageUrl,
-        category: p.category || 'general',
-        inStock: typeof p.inStock === 'boolean' ? p.inStock : true,
-        sizes: p.sizes ? p.sizes.split(',').filter((s: string) => s.trim()) : [],
-        colors: p.colors ? p.colors.split(',').filter((c: string) => c.trim()) : [],
-        features: p.features ? p.features.split(',').filter((f: string) => f.trim()) : [],
-    };
+    return toProduct(response.data);
 };
 
 export const updateProduct = async (product: Product): Promise<Product> => {
@@ -65,23 +113,11 @@ export const updateProduct = async (product: Product): Promise<Product> => {
         imageUrl: product.image,
         category: product.category,
         inStock: typeof product.inStock === 'boolean' ? product.inStock : true,
-        sizes: product.sizes && product.sizes.length > 0 ? product.sizes.join(',') : '',
-        colors: product.colors && product.colors.length > 0 ? product.colors.join(',') : '',
-        features: product.features && product.features.length > 0 ? product.features.join(',') : '',
+        sizes: product.sizes ?? [],
+        colors: product.colors ?? [],
+        features: product.features ?? [],
     });
-    const p = response.data;
-    return {
-        id: p.productID,
-        name: p.name,
-        description: p.description,
-        price: p.price,
-        image: p.imageUrl,
-        category: p.category && p.category.trim() ? p.category : 'Uncategorized',
-        inStock: typeof p.inStock === 'boolean' ? p.inStock : true,
-        sizes: p.sizes ? p.sizes.split(',').filter((s: string) => s.trim()) : [],
-        colors: p.colors ? p.colors.split(',').filter((c: string) => c.trim()) : [],
-        features: p.features ? p.features.split(',').filter((f: string) => f.trim()) : [],
-    };
+    return toProduct(response.data);
 };
 
 export const deleteProduct = async (id: string): Promise<void> => {
@@ -91,4 +127,4 @@ export const deleteProduct = async (id: string): Promise<void> => {
         console.error(`Error deleting product with ID ${id}:`, error);
         throw new Error(error.response?.data?.message || 'Failed to delete product');
     }
-};
\ No newline at end of file
+};
\ No newline at end of file
@@ -21,7 +21,7 @@ import {
 import React, { useEffect, useState } from 'react';
 import toast from 'react-hot-toast';
 import { useNavigate } from 'react-router-dom';
-import { Admin, deleteAdmin, getAllAdmins, registerAdmin, updateAdmin } from '../api/adminService';
+import { Admin, deleteAdmin, getAllAdmins, getDashboard, registerAdmin, updateAdmin } from '../api/adminService';
 import { getAllOrders } from '../api/orderService';
 import { createProduct, deleteProduct, getAllProducts, updateProduct } from '../api/productService';
 import { getAllCustomers } from '../api/profileApi';
@@ -64,6 +64,7 @@ const AdminDashboard: React.FC = () => {
     const [customers, setCustomers] = useState<Customer[]>([]);
     const [products, setProducts] = useState<Product[]>([]);
     const [orders, setOrders] = useState<any[]>([]);
+    const [ordersLoaded, setOrdersLoaded] = useState(false);
 
     const [admins, setAdmins] = useState<Admin[]>([]);
     const [loading, setLoading] = useState(true);
@@ -95,35 +96,18 @@ const AdminDashboard: React.FC = () => {
                     console.log('Products fetched:', fetchedProducts.length);
                     setProducts(fetchedProducts);
                     
-                    // Fetch all orders
-                    console.log('Fetching orders...');
-                    const fetchedOrders = await getAllOrders();
-                    console.log('Orders fetched:', fetchedOrders.length);
-                    setOrders(fetchedOrders);
+                    // Counts, revenue and each customer's latest order are aggregated server-side
+                    console.log('Fetching dashboard summary...');
+                    const dashboard = await getDashboard();
                     
-                    // Enhance customers with payment method information from their order history
+                    // Enhance customers with the payment method of their most recent order
                     const enhancedCustomers = fetchedCustomers.map((customer: any) => {
-                        // Find the most recent order for this customer
-                        const customerOrders = fetchedOrders.filter((order: any) => 
-                            order.customerID === customer.customerID || 
-                            order.customerId === customer.customerID ||
-                            order.customerEmail === customer.email
-                        );
+                        const customerId = customer.userId || customer.customerID || customer.id;
+                        const mostRecentOrder = customerId ? dashboard.latestOrders[customerId] : undefined;
                         
-                        // Get the most recent payment method
                         let paymentMethod = 'Not specified';
-                        if (customerOrders.length > 0) {
-                            // Sort by date to get the most recent order
-                            const sortedOrders = customerOrders.sort((a: any, b: any) => {
-                                const dateA = new Date(a.date || a.createdAt || a.orderDate);
-                                const dateB = new Date(b.date || b.createdAt || b.orderDate);
-                                return dateB.getTime() - dateA.getTime();
-                            });
-                            
-                            const mostRecentOrder = sortedOrders[0];
-                            paymentMethod = mostRecentOrder.paymentMethod || 
-                                           mostRecentOrder.payment_method || 
-                                           'Card'; // Default to Card if not specified
+                        if (mostRecentOrder) {
+                            paymentMethod = mostRecentOrder.paymentMethod || 'Card'; // Default to Card if not specified
                         } else {
                             // For demonstration purposes, assign random payment methods to customers without orders
                             const methods = ['Cash', 'Card', 'Online'];
@@ -139,10 +123,6 @@ const AdminDashboard: React.FC = () => {
                     
                     setCustomers(enhancedCustomers);
                     
-                    // Calculate total revenue from orders
-                    const totalRevenue = fetchedOrders.reduce((sum: number, order: any) => sum + (order.total || 0), 0);
-                    console.log('Total revenue calculated:', totalRevenue);
-                    
                     // Fetch all admins
                     console.log('Fetching admins...');
                     const fetchedAdmins = await getAllAdmins();
@@ -150,10 +130,10 @@ const AdminDashboard: React.FC = () => {
                     setAdmins(fetchedAdmins);
                     // Set stats from real data
                     setStats({
-                        totalCustomers: fetchedCustomers.length,
-                        totalProducts: fetchedProducts.length,
-                        totalOrders: fetchedOrders.length,
-                        totalRevenue: totalRevenue
+                        totalCustomers: dashboard.totalCustomers,
+                        totalProducts: dashboard.totalProducts,
+                        totalOrders: dashboard.totalOrders,
+                        totalRevenue: dashboard.totalRevenue
                     });
                 } catch (error: any) {
                     console.error('Error loading dashboard data:', error);
@@ -168,6 +148,20 @@ const AdminDashboard: React.FC = () => {
         }
     }, [currentUser, role, navigate]);
 
+    // The full order list is only needed on the Orders tab
+    useEffect(() => {
+        if (activeTab !== 'orders' || ordersLoaded || role !== 'ADMIN') return;
+        getAllOrders()
+            .then((fetchedOrders) => {
+                setOrders(fetchedOrders);
+                setOrdersLoaded(true);
+            })
+            .catch((error: any) => {
+                console.error('Error loading orders:', error);
+                toast.error('Failed to load orders');
+            });
+    }, [activeTab, ordersLoaded, role]);
+
     const handleLogout = () => {
         logout();
         navigate('/login');
@@ -1781,4 +1775,4 @@ const AdminDashboard: React.FC = () => {
     );
 };
 
-export default AdminDashboard;
\ No newline at end of file
+export default AdminDashboard;
\ No newline at end of file
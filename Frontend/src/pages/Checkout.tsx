@@ -2,7 +2,7 @@ import { CreditCard, User } from 'lucide-react'
 import React, { useState } from 'react'
 import toast from 'react-hot-toast'
 import { useNavigate } from 'react-router-dom'
-import { createOrder } from '../api/orderService'
+import { checkout } from '../api/orderService'
 import { useAuth } from '../contexts/AuthContext'
 import { useCart } from '../contexts/CartContext'
 
@@ -47,27 +47,18 @@ const Checkout: React.FC = () => {
     try {
       if (!currentUser) throw new Error('User not logged in')
       
-      // Create separate orders for each cart item to maintain backend compatibility
       if (items.length === 0) {
         toast.error('Your cart is empty. Please add items to checkout.');
         setLoading(false);
         return;
       }
 
-      // Process each item in the cart as a separate order
-      const orderPromises = items.map(item => {
-        const order = {
-          productID: item.id,
-          customerID: currentUser.id,
-          quantity: item.quantity,
-          total: item.price * item.quantity,
-          paymentMethod: formData.paymentMethod
-        };
-        return createOrder(order);
+      // Send the whole cart in one request, the backend prices and saves it in one transaction
+      await checkout({
+        customerID: currentUser.id,
+        paymentMethod: formData.paymentMethod,
+        lines: items.map(item => ({ productID: item.id, quantity: item.quantity }))
       });
-
-      // Wait for all orders to be created
-      await Promise.all(orderPromises);
       clearCart();
       
       // Different success messages based on payment method and number of items
@@ -1,7 +1,7 @@
 
 import { Bell, CreditCard, Edit3, LogOut, MapPin, Package, Shield, User } from 'lucide-react';
 import React, { useEffect, useState } from 'react';
-import { getAllOrders } from '../api/orderService';
+import { getCustomerOrders } from '../api/orderService';
 import { getAllProducts } from '../api/productService';
 import { changePassword, deleteAccount, getProfile, updateProfile } from '../api/profileApi';
 import { useAuth } from '../contexts/AuthContext';
@@ -77,38 +77,16 @@ const Profile: React.FC = () => {
           setProducts(staticProducts);
         }
         
-        // Then fetch orders
-        const allOrders = await getAllOrders()
-        console.log('All orders fetched:', allOrders); // Debug log
-        console.log('Current user:', currentUser); // Debug log
-        console.log('All products:', allProducts); // Debug log
+        // Then fetch this customer's orders page by page (newest first)
+        const userOrders: any[] = []
+        let cursor: string | undefined
+        do {
+          const page = await getCustomerOrders(currentUser.id.toString(), cursor)
+          userOrders.push(...page.items)
+          cursor = page.nextCursor || undefined
+        } while (cursor)
         
-        // Filter orders for current user - try multiple field combinations
-        const userOrders = allOrders.filter((order: any) => {
-          console.log('Checking order:', order); // Debug log
-          
-          // Primary match: customerID from backend Order entity
-          if (order.customerID && currentUser?.id) {
-            return order.customerID.toString() === currentUser.id.toString()
-          }
-          
-          // Fallback matches for different field names
-          if (order.customerId && currentUser?.id) {
-            return order.customerId.toString() === currentUser.id.toString()
-          }
-          if (order.userId && currentUser?.id) {
-            return order.userId.toString() === currentUser.id.toString()
-          }
-          if (order.customerEmail && currentUser?.email) {
-            return order.customerEmail.toLowerCase() === currentUser.email.toLowerCase()
-          }
-          if (order.email && currentUser?.email) {
-            return order.email.toLowerCase() === currentUser.email.toLowerCase()
-          }
-          return false
-        })
-        
-        console.log('Filtered user orders:', userOrders); // Debug log
+        console.log('User orders:', userOrders); // Debug log
         setOrders(userOrders)
       } catch (err: any) {
         console.error('Error fetching orders:', err);
@@ -149,7 +127,9 @@ const Profile: React.FC = () => {
     try {
       if (currentUser?.email) {
         await changePassword(currentUser.email, oldPassword, newPassword)
-        setSuccess('Password changed successfully!')
+        // The server revokes existing sessions, so sign in again with the new password
+        setSuccess('Password changed successfully! Please log in again.')
+        setTimeout(() => logout(), 1500)
       }
     } catch (err: any) {
       setError('Failed to change password')
@@ -679,7 +659,7 @@ const Profile: React.FC = () => {
                       const paymentMethod = order.paymentMethod || 'Card';
                       const paymentStatus = order.paymentStatus || 'PENDING';
                       const orderTotal = order.total || 0;
-                      const productId = order.productID || order.productId;
+                      const productId = order.productID || order.productId || order.lines?.[0]?.productID;
                       const quantity = order.quantity || 1;
                       
                       console.log(`Order ${index}:`, {
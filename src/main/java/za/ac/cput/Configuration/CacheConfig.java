@@ -0,0 +1,53 @@
+package za.ac.cput.Configuration;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-process caches. Caffeine bounds each cache by size with W-TinyLFU eviction
+ * and expires entries after a TTL; stats recording feeds the hit/miss counters.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String RATINGS = "ratings";
+
+    @Value("${app.cache.products.max-size:10000}")
+    private long productsMaxSize;
+
+    @Value("${app.cache.products.ttl:10m}")
+    private Duration productsTtl;
+
+    @Value("${app.cache.ratings.max-size:50000}")
+    private long ratingsMaxSize;
+
+    @Value("${app.cache.ratings.ttl:1h}")
+    private Duration ratingsTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PRODUCTS, Caffeine.newBuilder()
+                .maximumSize(productsMaxSize)
+                .expireAfterWrite(productsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(RATINGS, Caffeine.newBuilder()
+                .maximumSize(ratingsMaxSize)
+                .expireAfterWrite(ratingsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
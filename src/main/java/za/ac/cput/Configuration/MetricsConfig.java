@@ -0,0 +1,48 @@
+package za.ac.cput.Configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+/**
+ * Metrics published on /actuator/prometheus (admin only, see SecurityConfig).
+ * Spring Boot already times every request (http.server.requests) and repository call
+ * (spring.data.repository.invocations) and binds JVM GC, allocation and memory, Hikari
+ * pool and cache meters; the histogram buckets for those timers are switched on in
+ * application.properties. This adds the controller method that handled a request as a
+ * "handler" tag, so latency can be grouped per method and not only per URI pattern.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ServerRequestObservationConvention handlerMethodObservationConvention() {
+        return new HandlerMethodObservationConvention();
+    }
+
+    static class HandlerMethodObservationConvention extends DefaultServerRequestObservationConvention {
+
+        private static final KeyValue NO_HANDLER = KeyValue.of("handler", "none");
+
+        @Override
+        public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+            return super.getLowCardinalityKeyValues(context).and(handler(context));
+        }
+
+        // e.g. ProductController.getPage; "none" for requests no controller handled (404s, rejected by security)
+        private static KeyValue handler(ServerRequestObservationContext context) {
+            Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+            if (handler instanceof HandlerMethod method) {
+                return KeyValue.of("handler", method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+            }
+            return NO_HANDLER;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package za.ac.cput.Configuration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One-off migration of the legacy comma-separated product.sizes, product.colors and
+ * product.features TEXT columns into the product_size, product_color and
+ * product_feature child tables.
+ * Rows are converted in batches, each batch in its own transaction, and the legacy
+ * values are nulled once copied, so the job is restartable and a no-op when there is
+ * nothing left (or the legacy columns never existed).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProductAttributeBackfill implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductAttributeBackfill.class);
+
+    private static final String[][] ATTRIBUTES = {
+            // legacy column, child table, value column
+            {"sizes", "product_size", "size_value"},
+            {"colors", "product_color", "color_value"},
+            {"features", "product_feature", "feature_value"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.migration.product-attributes.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.migration.product-attributes.batch-size:500}")
+    private int batchSize;
+
+    public ProductAttributeBackfill(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        int converted = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> convertBatch());
+                converted += batch;
+            } while (batch == batchSize);
+        } catch (BadSqlGrammarException e) {
+            // Fresh schema without the legacy columns, nothing to migrate
+            return;
+        }
+        if (converted > 0) {
+            log.info("Migrated attribute columns of {} products into child tables", converted);
+        }
+    }
+
+    private int convertBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT productID, sizes, colors, features FROM product "
+                        + "WHERE sizes IS NOT NULL OR colors IS NOT NULL OR features IS NOT NULL "
+                        + "ORDER BY productID LIMIT ?", batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            ids.add((String) row.get("productID"));
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+
+        for (String[] attribute : ATTRIBUTES) {
+            String legacyColumn = attribute[0];
+            String table = attribute[1];
+            String valueColumn = attribute[2];
+
+            // Products saved through the new mapping already own their rows, keep those
+            Set<String> alreadyMigrated = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT productID FROM " + table + " WHERE productID IN (" + placeholders + ")",
+                    String.class, ids.toArray()));
+
+            List<Object[]> inserts = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                String productID = (String) row.get("productID");
+                if (alreadyMigrated.contains(productID)) {
+                    continue;
+                }
+                int position = 0;
+                for (String value : split((String) row.get(legacyColumn))) {
+                    inserts.add(new Object[]{productID, position++, value});
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO " + table + " (productID, position, " + valueColumn
+                        + ") VALUES (?, ?, ?)", inserts);
+            }
+        }
+
+        jdbcTemplate.update("UPDATE product SET sizes = NULL, colors = NULL, features = NULL "
+                + "WHERE productID IN (" + placeholders + ")", ids.toArray());
+        return rows.size();
+    }
+
+    private static List<String> split(String commaSeparated) {
+        List<String> values = new ArrayList<>();
+        if (commaSeparated == null) {
+            return values;
+        }
+        for (String part : commaSeparated.split(",")) {
+            String value = part.trim();
+            if (!value.isEmpty() && !values.contains(value)) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+}
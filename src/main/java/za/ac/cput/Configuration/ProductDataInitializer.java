@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import za.ac.cput.domain.Product;
@@ -24,8 +25,8 @@ public class ProductDataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
-        // Only seed when the table does not already contain these products
-        if (productRepository.count() <= 2) {
+        // Only seed when the table does not already contain these products (reads at most 3 ids, no COUNT)
+        if (productRepository.findProductIDs(Limit.of(3)).size() <= 2) {
         List<Product> products = Arrays.asList(
             ProductFactory.buildProduct("Dress with skirt", "Premium cotton dress with stylish skirt. Perfect for students and alumni.", 299, "/assets/images/outfit 1.jpg", "apparel"),
             ProductFactory.buildProduct("Coat with hoodie", "Comfortable fleece coat with attachable hoodie. Ideal for cooler weather.", 599, "/assets/images/outfit 2.jpg", "apparel"),
@@ -48,9 +49,10 @@ public class ProductDataInitializer implements CommandLineRunner {
             ProductFactory.buildProduct("speaker", "listen to podcast and music anywhere.", 499, "/assets/images/Speaker render 1.png", "accessories")
         );
 
-            products.stream()
+            // One batched insert instead of a save (and merge SELECT) per product
+            productRepository.persistAll(products.stream()
                     .filter(product -> product != null)
-                    .forEach(productRepository::save);
+                    .toList());
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package za.ac.cput.Configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import za.ac.cput.repository.ProductRatingRepository;
+
+/**
+ * Builds the product_rating summary of every product whose reviews were written before
+ * the summary table existed. Products that already have a row are left alone, so this
+ * is a no-op once every reviewed product has been summarised.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProductRatingBackfill implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductRatingBackfill.class);
+
+    private final ProductRatingRepository repository;
+
+    public ProductRatingBackfill(ProductRatingRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void run(String... args) {
+        int inserted = repository.insertMissing();
+        if (inserted > 0) {
+            log.info("Summarised the reviews of {} products", inserted);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package za.ac.cput.Configuration;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -21,7 +22,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import za.ac.cput.util.BoundedPasswordEncoder;
 import za.ac.cput.util.JwtAuthenticationFilter;
+import za.ac.cput.util.LoginRateLimitFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -29,10 +32,13 @@ import za.ac.cput.util.JwtAuthenticationFilter;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final LoginRateLimitFilter loginRateLimitFilter;
     private final UserDetailsService userDetailsService;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, LoginRateLimitFilter loginRateLimitFilter,
+                          UserDetailsService userDetailsService) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.loginRateLimitFilter = loginRateLimitFilter;
         this.userDetailsService = userDetailsService;
     }
 
@@ -43,9 +49,10 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
-                        .requestMatchers("/products/all", "/products/read/**", "/products/testProduct").permitAll()
+                        .requestMatchers("/products/all", "/products/read/**", "/products/page", "/products/search", "/products/facets", "/products/testProduct").permitAll()
                         .requestMatchers("/reviews/all", "/reviews/read/**", "/reviews/product/**").permitAll()
                         .requestMatchers("/*/ping").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
 
                         // Authentication endpoints
                         .requestMatchers("/auth/**").permitAll()
@@ -56,16 +63,18 @@ public class SecurityConfig {
                         // Admin registration and admin-only endpoints
                         .requestMatchers("/admins/register").hasRole("ADMIN")
                         .requestMatchers("/admins/**").hasRole("ADMIN")
-                        .requestMatchers("/products/create", "/products/update", "/products/delete/**").hasRole("ADMIN")
-                        .requestMatchers("/orders/all", "/orders/updatePaymentStatus/**").hasRole("ADMIN")
+                        .requestMatchers("/products/create", "/products/bulk", "/products/import", "/products/export", "/products/update", "/products/delete/**").hasRole("ADMIN")
+                        .requestMatchers("/orders/all", "/orders/export", "/orders/updatePaymentStatus/**").hasRole("ADMIN")
                         .requestMatchers("/customer/getAll", "/customer/findByPaymentMethod").hasRole("ADMIN")
+                        // Metrics scrape (/actuator/prometheus) and the other actuator endpoints
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Customer registration/login
                         .requestMatchers("/customer/create", "/customer/login").permitAll()
 
                         // Customer endpoints (and admin access)
                         .requestMatchers("/customer/read/**", "/customer/update", "/customer/delete/**").hasAnyRole("CUSTOMER", "ADMIN")
-                        .requestMatchers("/orders/create", "/orders/read/**", "/orders/update").hasAnyRole("CUSTOMER", "ADMIN")
+                        .requestMatchers("/orders/create", "/orders/checkout", "/orders/read/**", "/orders/update", "/orders/customer/**").hasAnyRole("CUSTOMER", "ADMIN")
                         .requestMatchers("/profile/**").hasAnyRole("CUSTOMER", "ADMIN")
                         .requestMatchers("/reviews/create", "/reviews/update", "/reviews/delete/**").hasAnyRole("CUSTOMER", "ADMIN")
 
@@ -76,21 +85,28 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Login attempts are throttled before any token or password work
+                .addFilterBefore(loginRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // BCrypt on its own bounded pool; threads=0 uses half the available cores
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength,
+                                                 @Value("${app.security.bcrypt.threads:0}") int threads,
+                                                 @Value("${app.security.bcrypt.queue-capacity:32}") int queueCapacity,
+                                                 @Value("${app.security.bcrypt.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, retryAfterSeconds);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -106,7 +122,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,420 @@
+package za.ac.cput.Configuration;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import za.ac.cput.domain.OrderLine;
+import za.ac.cput.domain.Product;
+import za.ac.cput.domain.Review;
+import za.ac.cput.domain.UType.Customer;
+import za.ac.cput.domain.UType.Designer;
+import za.ac.cput.factory.CustomerFactory;
+import za.ac.cput.factory.DesignerFactory;
+import za.ac.cput.factory.OrderFactory;
+import za.ac.cput.factory.ProductFactory;
+import za.ac.cput.factory.ReviewFactory;
+import za.ac.cput.repository.ProductRatingRepository;
+import za.ac.cput.repository.ProductRepository;
+import za.ac.cput.util.ZipfDistribution;
+
+/**
+ * Fills the database with a large synthetic catalogue for scale and load testing:
+ * products, customers, designers, orders and reviews, all built through the factories.
+ * Product and customer popularity are Zipf-distributed, so a few products collect most
+ * orders and reviews and a few customers place most orders, as in a real shop.
+ * Rows are persisted chunk by chunk (JDBC-batched, persistence context cleared after
+ * every chunk) so memory stays flat at millions of rows, and rating summaries are built
+ * once at the end. The same seed always produces the same products, orders and reviews
+ * (timestamps go back history-days from the start of the run's day); only the user ids
+ * are generated by the database.
+ * Off by default; a run is skipped when the seed's first product already exists.
+ */
+@Component
+// After the backfills, before ProductDataInitializer (which then finds products and seeds nothing)
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] CATEGORIES = {"apparel", "accessories", "furniture", "outdoor"};
+    private static final double[] CATEGORY_BASE_PRICE = {350, 300, 1500, 900};
+    private static final String[][] CATEGORY_NOUNS = {
+            {"Dress", "Coat", "Hoodie", "Shirt", "Skirt", "Jacket", "Bowtie", "Scarf", "Jumpsuit", "Blazer"},
+            {"Laptop Bag", "Wallet", "Diary", "Handbag", "Duffle Bag", "Headphones", "Lamp", "Speaker", "Belt", "Cap"},
+            {"Poster", "Wall Hanger", "Side Table", "Bookshelf", "Desk", "Stool", "Mirror", "Coffee Machine", "Rug", "Shelf"},
+            {"Water Bag", "Tent", "Backpack", "Cooler Box", "Camp Chair", "Hammock", "Flask", "Windbreaker", "Picnic Mat", "Lantern"}
+    };
+    private static final String[][] CATEGORY_IMAGES = {
+            {"/assets/images/outfit 1.jpg", "/assets/images/outfit 2.jpg", "/assets/images/outfit 3.jpg", "/assets/images/bowtie.jpeg"},
+            {"/assets/images/Brownbag.jpeg", "/assets/images/wallet.jpeg", "/assets/images/Diary.jpeg", "/assets/images/headphones.png"},
+            {"/assets/images/poster.jpg", "/assets/images/wallHanger.png", "/assets/images/coffeaMach.jpg", "/assets/images/lamp.png"},
+            {"/assets/images/condo-3L.jpg", "/assets/images/Greenbag.jpeg", "/assets/images/leatherBg.jpeg", "/assets/images/DoublestBag.jpeg"}
+    };
+    private static final String[] ADJECTIVES = {"Classic", "Modern", "Vintage", "Handmade", "Minimal", "Bold",
+            "Cosy", "Urban", "Campus", "Premium", "Recycled", "Limited"};
+    private static final String[] MATERIALS = {"Cotton", "Leather", "Denim", "Wool", "Linen", "Canvas",
+            "Oak", "Bamboo", "Steel", "Suede"};
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
+    private static final String[] COLORS = {"Black", "White", "Navy", "Olive", "Maroon", "Grey", "Mustard", "Teal"};
+    private static final String[] FEATURES = {"Water resistant", "Padded", "Adjustable", "Eco-friendly",
+            "Hand stitched", "Machine washable", "Lightweight", "Foldable"};
+    private static final String[] FIRST_NAMES = {"Aisha", "Thabo", "Lerato", "Sipho", "Zanele", "Pieter",
+            "Naledi", "Kagiso", "Fatima", "Liam", "Ayanda", "Mia", "Bongani", "Chloe", "Yusuf", "Nandi"};
+    private static final String[] LAST_NAMES = {"Dlamini", "Naidoo", "van der Merwe", "Mokoena", "Adams",
+            "Botha", "Khumalo", "Pillay", "Jacobs", "Nkosi", "Smith", "Petersen"};
+    private static final String[] PAYMENT_METHODS = {"Card", "Card", "Card", "EFT", "Online", "Cash"};
+    private static final String[][] COMMENTS = {
+            {"Fell apart after a week.", "Not as described.", "Would not buy again."},
+            {"Quality could be better.", "Took long to arrive.", "Colour differs from the photo."},
+            {"Decent for the price.", "Does the job.", "Okay, nothing special."},
+            {"Good quality, happy with it.", "Nice design, fits well.", "Would recommend."},
+            {"Absolutely love it!", "Excellent craftsmanship.", "Best purchase this year."}
+    };
+
+    // Stream ids, so each entity type draws from its own random sequence
+    private static final long PRODUCTS = 1;
+    private static final long CUSTOMERS = 2;
+    private static final long DESIGNERS = 3;
+    private static final long ORDERS = 4;
+    private static final long REVIEWS = 5;
+    private static final long LINES = 6;
+
+    private final ProductRepository productRepository;
+    private final ProductRatingRepository productRatingRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.datagen.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.products:1000000}")
+    private int products;
+
+    @Value("${app.datagen.customers:200000}")
+    private int customers;
+
+    @Value("${app.datagen.designers:20000}")
+    private int designers;
+
+    @Value("${app.datagen.orders:2000000}")
+    private int orders;
+
+    @Value("${app.datagen.reviews:3000000}")
+    private int reviews;
+
+    @Value("${app.datagen.product-skew:1.0}")
+    private double productSkew;
+
+    @Value("${app.datagen.customer-skew:0.8}")
+    private double customerSkew;
+
+    @Value("${app.datagen.history-days:365}")
+    private int historyDays;
+
+    @Value("${app.datagen.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.datagen.password:Datagen#2025}")
+    private String password;
+
+    public SyntheticDataGenerator(ProductRepository productRepository, ProductRatingRepository productRatingRepository,
+                                  PasswordEncoder passwordEncoder, TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.productRatingRepository = productRatingRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        if (products <= 0 || customers <= 0) {
+            log.warn("Synthetic data generation needs at least one product and one customer, skipping");
+            return;
+        }
+        if (productRepository.existsById(productID(0))) {
+            log.info("Synthetic data for seed {} already exists, skipping", seed);
+            return;
+        }
+
+        long start = System.nanoTime();
+        LocalDateTime until = LocalDate.now().atStartOfDay();
+        // One BCrypt hash shared by every generated account, hashing each would dominate the run
+        String hash = passwordEncoder.encode(password);
+
+        double[] prices = generateProducts();
+        String[] customerIDs = generateCustomers(hash);
+        generateDesigners(hash);
+        ZipfDistribution productPopularity = new ZipfDistribution(products, productSkew);
+        ZipfDistribution customerActivity = new ZipfDistribution(customers, customerSkew);
+        generateOrders(prices, customerIDs, productPopularity, customerActivity, until);
+        generateReviews(customerIDs, productPopularity, customerActivity, until);
+
+        long summaryStart = System.nanoTime();
+        productRatingRepository.insertMissing();
+        log.info("Built rating summaries in {} ms", (System.nanoTime() - summaryStart) / 1_000_000);
+        log.info("Synthetic data generation (seed {}) finished in {} s", seed, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private double[] generateProducts() {
+        SplittableRandom random = random(PRODUCTS);
+        double[] prices = new double[products];
+        Progress progress = new Progress("products", products);
+        List<Product> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < products; i++) {
+            int category = random.nextInt(CATEGORIES.length);
+            String noun = pick(random, CATEGORY_NOUNS[category]);
+            String material = pick(random, MATERIALS);
+            String name = pick(random, ADJECTIVES) + " " + material + " " + noun;
+            // Log-normal prices around the category's base price, ending in 9
+            double price = Math.max(9, Math.round(CATEGORY_BASE_PRICE[category]
+                    * Math.exp(0.6 * random.nextGaussian()) / 10) * 10 - 1);
+            Product product = ProductFactory.buildProduct(name,
+                    name + " in " + material.toLowerCase() + ", designed and made by a student designer.",
+                    price, pick(random, CATEGORY_IMAGES[category]), CATEGORIES[category],
+                    random.nextInt(100) < 92,
+                    category == 0 ? subset(random, SIZES, 2 + random.nextInt(4)) : List.of(),
+                    subset(random, COLORS, 1 + random.nextInt(3)),
+                    subset(random, FEATURES, random.nextInt(3)));
+            chunk.add(new Product.Builder().copy(product).setProductID(productID(i)).build());
+            prices[i] = price;
+            if (chunk.size() == chunkSize || i == products - 1) {
+                productRepository.persistAll(chunk);
+                progress.add(chunk.size());
+                chunk.clear();
+            }
+        }
+        return prices;
+    }
+
+    private String[] generateCustomers(String hash) {
+        SplittableRandom random = random(CUSTOMERS);
+        String[] customerIDs = new String[customers];
+        Progress progress = new Progress("customers", customers);
+        List<Customer> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < customers; i++) {
+            Customer customer = CustomerFactory.createCustomer(pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+                    "customer" + i + "@datagen.example.com", hash, pick(random, PAYMENT_METHODS),
+                    Math.round(random.nextDouble() * 500000) / 100.0);
+            // The factory's default role is lowercase, authorization checks ROLE_CUSTOMER
+            chunk.add(new Customer.Builder().copy(customer).setRole("CUSTOMER").build());
+            if (chunk.size() == chunkSize || i == customers - 1) {
+                persist(chunk);
+                // Ids are generated on persist
+                for (int j = 0; j < chunk.size(); j++) {
+                    customerIDs[i - chunk.size() + 1 + j] = chunk.get(j).getUserId().toString();
+                }
+                progress.add(chunk.size());
+                chunk.clear();
+            }
+        }
+        return customerIDs;
+    }
+
+    private void generateDesigners(String hash) {
+        SplittableRandom random = random(DESIGNERS);
+        Progress progress = new Progress("designers", designers);
+        List<Designer> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < designers; i++) {
+            Designer designer = DesignerFactory.createDesigner(pick(random, FIRST_NAMES), pick(random, LAST_NAMES),
+                    "designer" + i + "@datagen.example.com", hash, "https://portfolio.example.com/designer" + i);
+            chunk.add(new Designer.Builder().copy(designer).setRole("DESIGNER").build());
+            if (chunk.size() == chunkSize || i == designers - 1) {
+                persist(chunk);
+                progress.add(chunk.size());
+                chunk.clear();
+            }
+        }
+    }
+
+    private void generateOrders(double[] prices, String[] customerIDs, ZipfDistribution productPopularity,
+                                ZipfDistribution customerActivity, LocalDateTime until) {
+        SplittableRandom random = random(ORDERS);
+        SplittableRandom lineIDs = random(LINES);
+        Progress progress = new Progress("orders", orders);
+        List<za.ac.cput.domain.Order> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < orders; i++) {
+            String customerID = customerIDs[customerActivity.sample(random.nextDouble())];
+            String paymentMethod = pick(random, PAYMENT_METHODS);
+            LocalDateTime createdAt = until.minusSeconds(random.nextLong(historyDays * 86400L + 1));
+            za.ac.cput.domain.Order order;
+            if (random.nextInt(100) < 70) {
+                // Single product, as placed through /orders/create
+                int product = productPopularity.sample(random.nextDouble());
+                int quantity = quantity(random);
+                order = OrderFactory.buildOrder(productID(product), customerID, quantity,
+                        prices[product] * quantity, paymentMethod);
+            } else {
+                // Checkout of a cart, one line per product
+                int lineCount = 2 + random.nextInt(4);
+                List<OrderLine> lines = new ArrayList<>(lineCount);
+                for (int j = 0; j < lineCount; j++) {
+                    int product = productPopularity.sample(random.nextDouble());
+                    OrderLine line = OrderFactory.buildOrderLine(productID(product), quantity(random), prices[product]);
+                    lines.add(new OrderLine.Builder().copy(line).setOrderLineID(uuid(lineIDs)).build());
+                }
+                order = OrderFactory.buildOrder(customerID, lines, paymentMethod);
+            }
+            chunk.add(new za.ac.cput.domain.Order.Builder().copy(order)
+                    .setOrderID(id(ORDERS, i))
+                    .setPaymentStatus(paymentStatus(random, order.getPaymentStatus(), createdAt, until))
+                    .setCreatedAt(createdAt)
+                    .build());
+            if (chunk.size() == chunkSize || i == orders - 1) {
+                persist(chunk);
+                progress.add(chunk.size());
+                chunk.clear();
+            }
+        }
+    }
+
+    private void generateReviews(String[] customerIDs, ZipfDistribution productPopularity,
+                                 ZipfDistribution customerActivity, LocalDateTime until) {
+        SplittableRandom random = random(REVIEWS);
+        Progress progress = new Progress("reviews", reviews);
+        List<Review> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < reviews; i++) {
+            int product = productPopularity.sample(random.nextDouble());
+            // Each product has its own quality, so average ratings differ between products
+            double quality = 2.5 + 2.3 * unit(mix(seed ^ product));
+            int rating = (int) Math.max(1, Math.min(5, Math.round(quality + random.nextGaussian())));
+            Review review = ReviewFactory.buildReview(customerIDs[customerActivity.sample(random.nextDouble())],
+                    productID(product), rating, pick(random, COMMENTS[rating - 1]));
+            chunk.add(new Review.Builder().copy(review)
+                    .setReviewID(id(REVIEWS, i))
+                    .setCreatedAt(until.minusSeconds(random.nextLong(historyDays * 86400L + 1)))
+                    .build());
+            if (chunk.size() == chunkSize || i == reviews - 1) {
+                persist(chunk);
+                progress.add(chunk.size());
+                chunk.clear();
+            }
+        }
+    }
+
+    // One transaction per chunk, flushed in JDBC batches and detached so the context stays small
+    private void persist(List<?> entities) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Object entity : entities) {
+                entityManager.persist(entity);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    // Orders older than a week have mostly been settled
+    private static String paymentStatus(SplittableRandom random, String initial, LocalDateTime createdAt,
+                                        LocalDateTime until) {
+        if (createdAt.isAfter(until.minusDays(7))) {
+            return initial;
+        }
+        int roll = random.nextInt(100);
+        return roll < 90 ? "COMPLETED" : roll < 96 ? "CANCELLED" : "FAILED";
+    }
+
+    private static int quantity(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 75 ? 1 : roll < 93 ? 2 : 3 + random.nextInt(3);
+    }
+
+    private String productID(int index) {
+        return id(PRODUCTS, index);
+    }
+
+    // Version 4 style UUID derived from the seed, entity type and index
+    private String id(long stream, long index) {
+        long high = mix(seed ^ (stream << 56) ^ index);
+        long low = mix(high ^ 0x9E3779B97F4A7C15L);
+        return toUuid(high, low);
+    }
+
+    private static String uuid(SplittableRandom random) {
+        return toUuid(random.nextLong(), random.nextLong());
+    }
+
+    private static String toUuid(long high, long low) {
+        return new UUID((high & ~0xF000L) | 0x4000L, (low & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L).toString();
+    }
+
+    private SplittableRandom random(long stream) {
+        return new SplittableRandom(mix(seed + stream * 0x9E3779B97F4A7C15L));
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double unit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // count distinct values, in the array's order
+    private static List<String> subset(SplittableRandom random, String[] values, int count) {
+        List<String> picked = new ArrayList<>(count);
+        int remaining = Math.min(count, values.length);
+        for (int i = 0; i < values.length && remaining > 0; i++) {
+            if (random.nextInt(values.length - i) < remaining) {
+                picked.add(values[i]);
+                remaining--;
+            }
+        }
+        return picked;
+    }
+
+    // Logs rows per second roughly every tenth of a phase and at its end
+    private static class Progress {
+        private final String label;
+        private final long total;
+        private final long start = System.nanoTime();
+        private long done;
+        private long nextReport;
+
+        Progress(String label, long total) {
+            this.label = label;
+            this.total = total;
+            this.nextReport = Math.max(1, total / 10);
+        }
+
+        void add(int rows) {
+            done += rows;
+            if (done < nextReport && done < total) {
+                return;
+            }
+            nextReport += Math.max(1, total / 10);
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+            log.info("Generated {}/{} {} ({} rows/s)", done, total, label, Math.round(done / seconds));
+        }
+    }
+}
@@ -6,40 +6,62 @@
 package za.ac.cput.controller;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import jakarta.validation.Valid;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import za.ac.cput.domain.Admin;
 import za.ac.cput.factory.AdminFactory;
 import za.ac.cput.repository.AdminRepository;
 import za.ac.cput.service.AdminService;
+import za.ac.cput.service.DashboardService;
+import za.ac.cput.util.BoundedPasswordEncoder;
 import za.ac.cput.util.JwtUtil;
+import za.ac.cput.util.PasswordHashingBusyException;
+import za.ac.cput.util.VerifiedTokenCache;
 
 @RestController
 @RequestMapping("/admins")
 @CrossOrigin(origins = "http://localhost:5173")
 public class AdminController {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
     private final AdminService adminService;
     private final AdminRepository adminRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final CacheManager cacheManager;
+    private final DashboardService dashboardService;
+    private final VerifiedTokenCache tokenCache;
 
     public AdminController(AdminService adminService,
                            AdminRepository adminRepository,
-                           PasswordEncoder passwordEncoder,
-                           JwtUtil jwtUtil) {
+                           BoundedPasswordEncoder passwordEncoder,
+                           JwtUtil jwtUtil,
+                           CacheManager cacheManager,
+                           DashboardService dashboardService,
+                           VerifiedTokenCache tokenCache) {
         this.adminService = adminService;
         this.adminRepository = adminRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.cacheManager = cacheManager;
+        this.dashboardService = dashboardService;
+        this.tokenCache = tokenCache;
     }
 
 
@@ -70,6 +92,8 @@ public class AdminController {
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
+        } catch (PasswordHashingBusyException e) {
+            return serviceBusy(e);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -81,7 +105,7 @@ public class AdminController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody @Valid Admin loginInput) {
         try {
-            System.out.println("Login attempt: " + loginInput.getEmail());
+            log.debug("Admin login attempt: {}", loginInput.getEmail());
 
             Optional<Admin> adminOpt = adminRepository.findByEmail(loginInput.getEmail());
 
@@ -103,6 +127,8 @@ public class AdminController {
 
             return ResponseEntity.ok(response);
 
+        } catch (PasswordHashingBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Login error: " + e.getMessage());
@@ -151,6 +177,8 @@ public class AdminController {
             Admin saved = adminService.update(updatedAdmin);
             return ResponseEntity.ok(createAdminResponse(saved));
 
+        } catch (PasswordHashingBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Update failed: " + e.getMessage());
         }
@@ -164,11 +192,54 @@ public class AdminController {
     }
 
 
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                caches.put(name, cacheStats(cache.getNativeCache()));
+            }
+        }
+        Map<String, Object> tokens = cacheStats(tokenCache.getNativeCache());
+        tokens.put("revoked", tokenCache.getRevokedCount());
+        caches.put("verifiedTokens", tokens);
+        return ResponseEntity.ok(caches);
+    }
+
+    private static Map<String, Object> cacheStats(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> cacheMap = new LinkedHashMap<>();
+        cacheMap.put("size", cache.estimatedSize());
+        cacheMap.put("hits", stats.hitCount());
+        cacheMap.put("misses", stats.missCount());
+        cacheMap.put("hitRate", stats.hitRate());
+        cacheMap.put("evictions", stats.evictionCount());
+        return cacheMap;
+    }
+
+    // Queue depth, rejections and hash latency of the password hashing pool
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> passwordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.getStats());
+    }
+
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardService.Dashboard> dashboard() {
+        return ResponseEntity.ok(dashboardService.snapshot());
+    }
+
     @GetMapping("/ping")
     public ResponseEntity<String> ping() {
         return ResponseEntity.ok("Admin backend is running!");
     }
 
+    // 503 with Retry-After when the password hashing pool is saturated
+    private static ResponseEntity<?> serviceBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
     private Map<String, Object> createAdminResponse(Admin admin) {
         Map<String, Object> adminMap = new HashMap<>();
         adminMap.put("id", admin.getId());
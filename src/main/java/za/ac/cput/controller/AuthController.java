@@ -4,6 +4,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,15 +15,19 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import za.ac.cput.domain.AccountPrincipal;
 import za.ac.cput.domain.Admin;
 import za.ac.cput.domain.User;
 import za.ac.cput.repository.AdminRepository;
 import za.ac.cput.repository.UserRepository;
 import za.ac.cput.service.AuthService;
 import za.ac.cput.util.JwtUtil;
+import za.ac.cput.util.PasswordHashingBusyException;
+import za.ac.cput.util.VerifiedTokenCache;
 
 @RestController
 @RequestMapping("/auth")
@@ -33,14 +39,17 @@ public class AuthController {
     private final AuthService authService;
     private final UserRepository userRepository;
     private final AdminRepository adminRepository;
+    private final VerifiedTokenCache tokenCache;
 
     public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil,
-                          AuthService authService, UserRepository userRepository, AdminRepository adminRepository) {
+                          AuthService authService, UserRepository userRepository, AdminRepository adminRepository,
+                          VerifiedTokenCache tokenCache) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.authService = authService;
         this.userRepository = userRepository;
         this.adminRepository = adminRepository;
+        this.tokenCache = tokenCache;
     }
 
     @PostMapping("/login")
@@ -51,32 +60,22 @@ public class AuthController {
                     new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
 
-            // Check User table first
-            Optional<User> userOpt = userRepository.findByEmail(request.getUsername());
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                String token = jwtUtil.generateToken(user.getEmail(), user.getRole(), user.getUserId());
-
-                Map<String, Object> response = new HashMap<>();
-                response.put("token", token);
-                response.put("user", createUserResponse(user));
-                return ResponseEntity.ok(response);
-            }
-
-            // Check Admin table
-            Optional<Admin> adminOpt = adminRepository.findByEmail(request.getUsername());
-            if (adminOpt.isPresent()) {
-                Admin admin = adminOpt.get();
-                String token = jwtUtil.generateToken(admin.getEmail(), admin.getRole(), admin.getId());
+            // The principal loaded during authentication already has everything the response needs
+            if (authentication.getPrincipal() instanceof AccountPrincipal principal) {
+                String token = jwtUtil.generateToken(principal.getEmail(), principal.getRole(), principal.getId());
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("token", token);
-                response.put("user", createAdminResponse(admin));
+                response.put("user", createPrincipalResponse(principal));
                 return ResponseEntity.ok(response);
             }
 
             return ResponseEntity.status(404).body("User not found");
         } catch (Exception e) {
+            PasswordHashingBusyException busy = PasswordHashingBusyException.find(e);
+            if (busy != null) {
+                return serviceBusy(busy);
+            }
             Map<String, String> error = new HashMap<>();
             error.put("message", "Invalid credentials: " + e.getMessage());
             return ResponseEntity.status(401).body(error);
@@ -107,6 +106,8 @@ public class AuthController {
             }
 
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", e.getMessage());
@@ -114,6 +115,15 @@ public class AuthController {
         }
     }
 
+    // Revokes the caller's bearer token so it can't be used again before it expires
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            tokenCache.revoke(authHeader.substring(7));
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     public ResponseEntity<?> getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -134,6 +144,25 @@ public class AuthController {
         return ResponseEntity.badRequest().body("User not found");
     }
 
+    // 503 with Retry-After when the password hashing pool is saturated
+    private static ResponseEntity<?> serviceBusy(PasswordHashingBusyException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    private Map<String, Object> createPrincipalResponse(AccountPrincipal principal) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", principal.getId().toString());
+        map.put("email", principal.getEmail());
+        map.put("role", principal.getRole());
+        map.put("firstName", principal.getFirstName());
+        map.put("lastName", principal.getLastName());
+        return map;
+    }
+
     private Map<String, Object> createUserResponse(User user) {
         Map<String, Object> userMap = new HashMap<>();
         userMap.put("id", user.getUserId().toString());
@@ -1,10 +1,17 @@
 package za.ac.cput.controller;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,13 +19,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import za.ac.cput.domain.Order;
+import za.ac.cput.domain.UType.Customer;
 import za.ac.cput.factory.OrderFactory;
 import za.ac.cput.repository.OrderRepository;
+import za.ac.cput.service.CustomerService;
+import za.ac.cput.service.ExportService;
 import za.ac.cput.service.OrderService;
 
 @CrossOrigin(origins = "http://localhost:5173")
@@ -28,10 +40,15 @@ public class OrderController {
 
     private final OrderService orderService;
     private final OrderRepository orderRepository;
+    private final ExportService exportService;
+    private final CustomerService customerService;
 
-    public OrderController(OrderService orderService, OrderRepository orderRepository){
+    public OrderController(OrderService orderService, OrderRepository orderRepository, ExportService exportService,
+                           CustomerService customerService){
         this.orderService = orderService;
         this.orderRepository = orderRepository;
+        this.exportService = exportService;
+        this.customerService = customerService;
     }
 
     @PostMapping("/create")
@@ -54,6 +71,26 @@ public class OrderController {
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/checkout")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<?> checkout(@RequestBody CheckoutRequest request){
+        if(request.getLines() == null || request.getLines().isEmpty()){
+            return ResponseEntity.badRequest().body("Cart is empty");
+        }
+        // Merge repeated products into one line
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for(CheckoutRequest.Line line : request.getLines()){
+            quantities.merge(line.getProductID(), line.getQuantity(), Integer::sum);
+        }
+        String paymentMethod = request.getPaymentMethod() != null ? request.getPaymentMethod() : "Card";
+        try {
+            Order saved = orderService.checkout(request.getCustomerID(), paymentMethod, quantities);
+            return ResponseEntity.ok(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/read/{id}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
     public ResponseEntity<Order> read(@PathVariable @NotBlank String id){
@@ -87,6 +124,49 @@ public class OrderController {
         return orderService.getAll();
     }
 
+    // Admin export of the whole table, streamed as it is read (format=ndjson or csv)
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> export(@RequestParam(defaultValue = ExportService.NDJSON) String format,
+                                    HttpServletResponse response) throws IOException {
+        MediaType type = ExportService.mediaType(format);
+        if (type == null) {
+            return ResponseEntity.badRequest().body("format must be ndjson or csv");
+        }
+        response.setContentType(type.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + format + "\"");
+        exportService.exportOrders(response.getOutputStream(), format);
+        return null; // response already written
+    }
+
+    @GetMapping("/customer/{customerID}")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<?> getCustomerOrders(@PathVariable @NotBlank String customerID,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int size){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // Customers may only page through their own history, admins through anyone's
+        if (!isAdmin(authentication)) {
+            Customer caller = customerService.findByEmail(authentication.getName());
+            if (caller == null || caller.getUserId() == null || !customerID.equals(caller.getUserId().toString())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+        }
+        try {
+            return ResponseEntity.ok(orderService.getCustomerOrders(customerID, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
     @PostMapping("/updatePaymentStatus/{orderId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updatePaymentStatus(@PathVariable @NotBlank String orderId, @RequestBody @NotBlank String paymentStatus) {
@@ -112,4 +192,27 @@ public class OrderController {
     public String ping(){
         return "Order backend is running!";
     }
-}
\ No newline at end of file
+
+    static class CheckoutRequest {
+        private String customerID;
+        private String paymentMethod;
+        private List<Line> lines;
+
+        public String getCustomerID() { return customerID; }
+        public void setCustomerID(String customerID) { this.customerID = customerID; }
+        public String getPaymentMethod() { return paymentMethod; }
+        public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+        public List<Line> getLines() { return lines; }
+        public void setLines(List<Line> lines) { this.lines = lines; }
+
+        static class Line {
+            private String productID;
+            private int quantity;
+
+            public String getProductID() { return productID; }
+            public void setProductID(String productID) { this.productID = productID; }
+            public int getQuantity() { return quantity; }
+            public void setQuantity(int quantity) { this.quantity = quantity; }
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package za.ac.cput.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -11,15 +23,25 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import za.ac.cput.domain.Product;
 import za.ac.cput.factory.ProductFactory;
 import za.ac.cput.repository.ProductRepository;
+import za.ac.cput.service.ExportService;
+import za.ac.cput.service.ProductFacetService;
+import za.ac.cput.service.ProductImportService;
+import za.ac.cput.service.ProductSearchService;
 import za.ac.cput.service.ProductService;
+import za.ac.cput.util.CursorPage;
+import za.ac.cput.util.EntityVersions;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
@@ -27,11 +49,22 @@ import za.ac.cput.service.ProductService;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ExportService exportService;
     private final ProductRepository productRepository;
+    private final EntityVersions entityVersions;
 
-    public ProductController(ProductService productService, ProductRepository productRepository){
+    @Value("${app.http.cache-control.products-read:no-cache}")
+    private String readCacheControl;
+
+    public ProductController(ProductService productService, ProductImportService productImportService,
+                             ExportService exportService, ProductRepository productRepository,
+                             EntityVersions entityVersions){
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.exportService = exportService;
         this.productRepository = productRepository;
+        this.entityVersions = entityVersions;
     }
 
     @PostMapping("/create")
@@ -41,15 +74,7 @@ public class ProductController {
             Product newProduct;
             
             // Check if additional fields are provided
-            if (productInput.getSizes() != null || productInput.getColors() != null || productInput.getFeatures() != null) {
-                // Convert comma-separated strings to lists for processing
-                List<String> sizes = productInput.getSizes() != null && !productInput.getSizes().trim().isEmpty() 
-                    ? List.of(productInput.getSizes().split(",")) : List.of();
-                List<String> colors = productInput.getColors() != null && !productInput.getColors().trim().isEmpty() 
-                    ? List.of(productInput.getColors().split(",")) : List.of();
-                List<String> features = productInput.getFeatures() != null && !productInput.getFeatures().trim().isEmpty() 
-                    ? List.of(productInput.getFeatures().split(",")) : List.of();
-                
+            if (hasValues(productInput.getSizes()) || hasValues(productInput.getColors()) || hasValues(productInput.getFeatures())) {
                 newProduct = ProductFactory.buildProduct(
                         productInput.getName(),
                         productInput.getDescription(),
@@ -57,9 +82,9 @@ public class ProductController {
                         productInput.getImageUrl(),
                         productInput.getCategory(),
                         productInput.isInStock(),
-                        sizes,
-                        colors,
-                        features
+                        productInput.getSizes(),
+                        productInput.getColors(),
+                        productInput.getFeatures()
                 );
             } else {
                 // Use basic factory method for backward compatibility
@@ -87,13 +112,85 @@ public class ProductController {
     }
 
 
+    // Admin bulk import of a JSON array of products, all or nothing
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkCreate(@RequestBody List<Product> productInputs){
+        List<Product> products = new ArrayList<>(productInputs.size());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < productInputs.size(); i++) {
+            Product input = productInputs.get(i);
+            Product product = input == null ? null : ProductFactory.buildProduct(
+                    input.getName(),
+                    input.getDescription(),
+                    input.getPrice(),
+                    input.getImageUrl(),
+                    input.getCategory(),
+                    input.isInStock(),
+                    input.getSizes(),
+                    input.getColors(),
+                    input.getFeatures()
+            );
+            if (product == null) {
+                errors.add("Invalid input fields at index " + i);
+            } else {
+                products.add(product);
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        int imported = productService.createAll(products);
+        Map<String, Object> response = new HashMap<>();
+        response.put("imported", imported);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Streaming import: the body is read row by row, as NDJSON (application/x-ndjson) or
+     * CSV with a header row (text/csv). Valid rows are committed in fixed-size batches and
+     * the response lists the rows that were rejected.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importProducts(HttpServletRequest request) throws IOException {
+        String format = MediaType.parseMediaType(request.getContentType()).getSubtype().contains("csv")
+                ? ProductImportService.CSV : ProductImportService.NDJSON;
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+        try (Reader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            return ResponseEntity.ok(productImportService.importProducts(reader, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/read/{id}")
-    public ResponseEntity<Product> read(@PathVariable @NotBlank String id){
+    public ResponseEntity<Product> read(@PathVariable @NotBlank String id,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        // Answer revalidations from the version counter without loading the product
+        String etag = entityVersions.etag(EntityVersions.PRODUCT, id);
+        if(EntityVersions.matches(ifNoneMatch, etag, false)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, readCacheControl).build();
+        }
         Product product = productService.read(id);
         if(product == null){
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(product);
+        // Writes bump the version after the new row is visible, so an unchanged version means
+        // the body was loaded under this tag; otherwise the body may predate the write and is
+        // sent untagged rather than under a tag the client would keep revalidating with
+        if(!etag.equals(entityVersions.etag(EntityVersions.PRODUCT, id))){
+            return ResponseEntity.ok().header(HttpHeaders.CACHE_CONTROL, readCacheControl).body(product);
+        }
+        // If-None-Match: * only matches once the product is known to exist
+        if(EntityVersions.matches(ifNoneMatch, etag, true)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, readCacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).header(HttpHeaders.CACHE_CONTROL, readCacheControl).body(product);
     }
 
     @PostMapping("/update")
@@ -119,8 +216,69 @@ public class ProductController {
         return productService.getAll();
     }
 
+    // Admin export of the whole table, streamed as it is read (format=ndjson or csv)
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> export(@RequestParam(defaultValue = ExportService.NDJSON) String format,
+                                    HttpServletResponse response) throws IOException {
+        MediaType type = ExportService.mediaType(format);
+        if (type == null) {
+            return ResponseEntity.badRequest().body("format must be ndjson or csv");
+        }
+        response.setContentType(type.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + format + "\"");
+        exportService.exportProducts(response.getOutputStream(), format);
+        return null; // response already written
+    }
+
+    @GetMapping("/page")
+    // Public endpoint - keyset paginated catalog, pass nextCursor back to get the following page
+    public ResponseEntity<?> getPage(@RequestParam(defaultValue = "name") String sort,
+                                     @RequestParam(defaultValue = "asc") String direction,
+                                     @RequestParam(required = false) String category,
+                                     @RequestParam(required = false) Double minPrice,
+                                     @RequestParam(required = false) Double maxPrice,
+                                     @RequestParam(required = false) Boolean inStock,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int size){
+        try {
+            CursorPage<Product> page = productService.getPage(sort, direction, category, minPrice, maxPrice, inStock, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/search")
+    // Public endpoint - ranked full-text search served from the in-memory index
+    public List<Product> search(@RequestParam @NotBlank String q,
+                                @RequestParam(defaultValue = "" + ProductSearchService.DEFAULT_LIMIT) int limit){
+        return productService.search(q, limit);
+    }
+
+    @GetMapping("/facets")
+    // Public endpoint - repeat a parameter to OR several values, e.g. ?size=M&size=L&color=black
+    public ResponseEntity<?> facets(@RequestParam(required = false) List<String> category,
+                                    @RequestParam(required = false) List<String> size,
+                                    @RequestParam(required = false) List<String> color,
+                                    @RequestParam(required = false) List<String> price,
+                                    @RequestParam(required = false) List<String> inStock,
+                                    @RequestParam(defaultValue = "" + ProductFacetService.DEFAULT_LIMIT) int limit){
+        Map<String, List<String>> selected = new HashMap<>();
+        selected.put(ProductFacetService.CATEGORY, category);
+        selected.put(ProductFacetService.SIZE, size);
+        selected.put(ProductFacetService.COLOR, color);
+        selected.put(ProductFacetService.PRICE, price);
+        selected.put(ProductFacetService.IN_STOCK, inStock);
+        return ResponseEntity.ok(productService.filterByFacets(selected, limit));
+    }
+
     @GetMapping("/ping")
     public String ping(){
         return "Product backend is running!";
     }
-}
\ No newline at end of file
+
+    private static boolean hasValues(List<String> values){
+        return values != null && !values.isEmpty();
+    }
+}
\ No newline at end of file
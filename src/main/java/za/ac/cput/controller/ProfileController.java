@@ -19,6 +19,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import za.ac.cput.domain.UType.Customer;
 import za.ac.cput.service.CustomerService;
+import za.ac.cput.util.VerifiedTokenCache;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
@@ -26,9 +27,11 @@ import za.ac.cput.service.CustomerService;
 public class ProfileController {
 
     private final CustomerService customerService;
+    private final VerifiedTokenCache tokenCache;
 
-    public ProfileController(CustomerService customerService) {
+    public ProfileController(CustomerService customerService, VerifiedTokenCache tokenCache) {
         this.customerService = customerService;
+        this.tokenCache = tokenCache;
     }
 
     @GetMapping
@@ -144,6 +147,8 @@ public class ProfileController {
                     .build();
                     
             customerService.update(updatedCustomer);
+            // Sessions opened with the old password must log in again
+            tokenCache.revokeAll(email);
             return ResponseEntity.ok("Password changed successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error changing password");
@@ -171,6 +176,7 @@ public class ProfileController {
             }
             
             customerService.delete(customer.getUserId());
+            tokenCache.revokeAll(email);
             return ResponseEntity.ok("Account deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error deleting account");
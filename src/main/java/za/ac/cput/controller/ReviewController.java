@@ -3,6 +3,8 @@ package za.ac.cput.controller;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,16 +14,20 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import za.ac.cput.domain.ProductRating;
 import za.ac.cput.domain.Review;
 import za.ac.cput.factory.ReviewFactory;
 import za.ac.cput.repository.ReviewRepository;
 import za.ac.cput.service.ReviewService;
+import za.ac.cput.util.CursorPage;
+import za.ac.cput.util.EntityVersions;
 
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
@@ -30,10 +36,19 @@ public class ReviewController {
 
     private final ReviewService reviewService;
     private final ReviewRepository reviewRepository;
+    private final EntityVersions entityVersions;
 
-    public ReviewController(ReviewService reviewService, ReviewRepository reviewRepository) {
+    @Value("${app.http.cache-control.reviews-all:no-cache}")
+    private String allCacheControl;
+
+    @Value("${app.http.cache-control.reviews-product:no-cache}")
+    private String productCacheControl;
+
+    public ReviewController(ReviewService reviewService, ReviewRepository reviewRepository,
+                            EntityVersions entityVersions) {
         this.reviewService = reviewService;
         this.reviewRepository = reviewRepository;
+        this.entityVersions = entityVersions;
     }
 
     @PostMapping("/create")
@@ -88,8 +103,15 @@ public class ReviewController {
 
     @GetMapping("/all")
     // Public endpoint - all reviews can be read by anyone
-    public List<Review> getAll() {
-        return reviewService.getAll();
+    public ResponseEntity<List<Review>> getAll(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = entityVersions.etag(EntityVersions.ALL_REVIEWS);
+        if (EntityVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, allCacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).header(HttpHeaders.CACHE_CONTROL, allCacheControl)
+                .body(reviewService.getAll());
     }
 
     @GetMapping("/customer/{customerID}")
@@ -100,8 +122,43 @@ public class ReviewController {
 
     @GetMapping("/product/{productID}")
     // Public endpoint - product reviews can be read by anyone
-    public List<Review> getByProduct(@PathVariable @NotBlank String productID) {
-        return reviewService.getReviewsByProductID(productID);
+    public ResponseEntity<List<Review>> getByProduct(@PathVariable @NotBlank String productID,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = entityVersions.etag(EntityVersions.PRODUCT_REVIEWS, productID);
+        if (EntityVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, productCacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).header(HttpHeaders.CACHE_CONTROL, productCacheControl)
+                .body(reviewService.getReviewsByProductID(productID));
+    }
+
+    @GetMapping("/product/{productID}/page")
+    // Public endpoint - keyset paginated product reviews, pass nextCursor back to get the following page
+    public ResponseEntity<?> getPageByProduct(@PathVariable @NotBlank String productID,
+                                              @RequestParam(defaultValue = "newest") String sort,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            CursorPage<Review> page = reviewService.getProductReviewPage(productID, sort, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/product/{productID}/summary")
+    // Public endpoint - review count, average and star histogram without the review text
+    public ResponseEntity<ProductRating> getSummaryByProduct(@PathVariable @NotBlank String productID,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Changes exactly when the product's review list does, so it shares that ETag
+        String etag = entityVersions.etag(EntityVersions.PRODUCT_REVIEWS, productID);
+        if (EntityVersions.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, productCacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).header(HttpHeaders.CACHE_CONTROL, productCacheControl)
+                .body(reviewService.getRatingSummary(productID));
     }
 
     @GetMapping("/rating/{rating}")
@@ -120,4 +177,4 @@ public class ReviewController {
     public String ping() {
         return "Review backend is running!";
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
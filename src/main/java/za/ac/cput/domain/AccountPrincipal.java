@@ -0,0 +1,63 @@
+package za.ac.cput.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Read-only login view of an account, whether it lives in the user table
+ * (customers, designers) or the admin table.
+ * Loaded with UserRepository.findPrincipalByEmail and used as the authenticated
+ * principal, so the login flow never needs the full entity.
+ */
+public class AccountPrincipal implements UserDetails {
+
+    private final String email;
+    private final String password;
+    private final String role;
+    private final String firstName;
+    private final String lastName;
+    private final UUID userId;
+    private final Long adminId;
+
+    public AccountPrincipal(String email, String password, String role, String firstName, String lastName,
+                            UUID userId, Long adminId) {
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.userId = userId;
+        this.adminId = adminId;
+    }
+
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public boolean isAdmin() { return adminId != null; }
+
+    // UUID for users, numeric id for admins
+    public Object getId() {
+        return isAdmin() ? adminId : userId;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+}
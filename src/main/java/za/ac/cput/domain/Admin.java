@@ -9,11 +9,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 
 import java.util.Objects;
 
 @Entity
+@Table(indexes = @Index(name = "idx_admin_email", columnList = "email"))
 public class Admin {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
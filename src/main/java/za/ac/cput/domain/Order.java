@@ -1,16 +1,34 @@
 package za.ac.cput.domain;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
 
 /**
- * Order entity capturing a purchase of a product by a customer.
+ * Order entity capturing a purchase by a customer.
+ * Orders placed through /orders/create carry a single product in productID and
+ * quantity; checkout orders carry one OrderLine per cart item instead.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Serves a customer's order history, newest first, without touching other customers' rows
+        @Index(name = "idx_orders_customer_created", columnList = "customerID, createdAt, orderID")
+})
 public class Order {
     @Id
     private String orderID;
@@ -20,6 +38,15 @@ public class Order {
     private double total;
     private String paymentMethod;
     private String paymentStatus;
+    private LocalDateTime createdAt;
+
+    // Lines are written once at checkout; the FK is set on insert so no follow-up UPDATEs are issued
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @BatchSize(size = 500)
+    @JoinColumn(name = "orderID", nullable = false, updatable = false)
+    @OrderColumn(name = "position", updatable = false)
+    private List<OrderLine> lines = new ArrayList<>();
 
     protected Order(){}
 
@@ -31,6 +58,8 @@ public class Order {
         this.total = builder.total;
         this.paymentMethod = builder.paymentMethod;
         this.paymentStatus = builder.paymentStatus;
+        this.createdAt = builder.createdAt;
+        this.lines = builder.lines == null ? new ArrayList<>() : new ArrayList<>(builder.lines);
     }
 
     public String getOrderID(){return orderID;}
@@ -40,6 +69,8 @@ public class Order {
     public double getTotal(){return total;}
     public String getPaymentMethod(){return paymentMethod;}
     public String getPaymentStatus(){return paymentStatus;}
+    public LocalDateTime getCreatedAt(){return createdAt;}
+    public List<OrderLine> getLines(){return lines;}
 
     @Override
     public boolean equals(Object o){
@@ -51,12 +82,13 @@ public class Order {
                 Objects.equals(productID, order.productID) &&
                 Objects.equals(customerID, order.customerID) &&
                 Objects.equals(paymentMethod, order.paymentMethod) &&
-                Objects.equals(paymentStatus, order.paymentStatus);
+                Objects.equals(paymentStatus, order.paymentStatus) &&
+                Objects.equals(createdAt, order.createdAt);
     }
 
     @Override
     public int hashCode(){
-        return Objects.hash(orderID, productID, customerID, quantity, total, paymentMethod, paymentStatus);
+        return Objects.hash(orderID, productID, customerID, quantity, total, paymentMethod, paymentStatus, createdAt);
     }
 
     @Override
@@ -69,6 +101,7 @@ public class Order {
                 ", total=" + total +
                 ", paymentMethod='" + paymentMethod + '\'' +
                 ", paymentStatus='" + paymentStatus + '\'' +
+                ", createdAt=" + createdAt +
                 '}';
     }
 
@@ -80,6 +113,8 @@ public class Order {
         private double total;
         private String paymentMethod;
         private String paymentStatus;
+        private LocalDateTime createdAt;
+        private List<OrderLine> lines;
 
         public Builder setOrderID(String orderID){this.orderID=orderID;return this;}
         public Builder setProductID(String productID){this.productID=productID;return this;}
@@ -88,6 +123,8 @@ public class Order {
         public Builder setTotal(double total){this.total=total;return this;}
         public Builder setPaymentMethod(String paymentMethod){this.paymentMethod=paymentMethod;return this;}
         public Builder setPaymentStatus(String paymentStatus){this.paymentStatus=paymentStatus;return this;}
+        public Builder setCreatedAt(LocalDateTime createdAt){this.createdAt=createdAt;return this;}
+        public Builder setLines(List<OrderLine> lines){this.lines=lines;return this;}
 
         public Builder copy(Order order){
             this.orderID=order.orderID;
@@ -97,9 +134,11 @@ public class Order {
             this.total=order.total;
             this.paymentMethod=order.paymentMethod;
             this.paymentStatus=order.paymentStatus;
+            this.createdAt=order.createdAt;
+            this.lines=order.lines;
             return this;
         }
 
         public Order build(){return new Order(this);}
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
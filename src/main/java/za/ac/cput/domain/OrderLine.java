@@ -0,0 +1,90 @@
+package za.ac.cput.domain;
+
+import java.util.Objects;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * One product line of a multi-line order, priced at checkout time.
+ */
+@Entity
+@Table(name = "order_line")
+public class OrderLine {
+    @Id
+    private String orderLineID;
+    private String productID;
+    private int quantity;
+    private double unitPrice;
+    private double lineTotal;
+
+    protected OrderLine(){}
+
+    private OrderLine(Builder builder){
+        this.orderLineID = builder.orderLineID;
+        this.productID = builder.productID;
+        this.quantity = builder.quantity;
+        this.unitPrice = builder.unitPrice;
+        this.lineTotal = builder.lineTotal;
+    }
+
+    public String getOrderLineID(){return orderLineID;}
+    public String getProductID(){return productID;}
+    public int getQuantity(){return quantity;}
+    public double getUnitPrice(){return unitPrice;}
+    public double getLineTotal(){return lineTotal;}
+
+    @Override
+    public boolean equals(Object o){
+        if(this==o) return true;
+        if(o==null || getClass()!=o.getClass()) return false;
+        OrderLine line=(OrderLine)o;
+        return quantity==line.quantity &&
+                Double.compare(line.unitPrice, unitPrice)==0 &&
+                Double.compare(line.lineTotal, lineTotal)==0 &&
+                Objects.equals(orderLineID, line.orderLineID) &&
+                Objects.equals(productID, line.productID);
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(orderLineID, productID, quantity, unitPrice, lineTotal);
+    }
+
+    @Override
+    public String toString(){
+        return "OrderLine{" +
+                "orderLineID='" + orderLineID + '\'' +
+                ", productID='" + productID + '\'' +
+                ", quantity=" + quantity +
+                ", unitPrice=" + unitPrice +
+                ", lineTotal=" + lineTotal +
+                '}';
+    }
+
+    public static class Builder {
+        private String orderLineID;
+        private String productID;
+        private int quantity;
+        private double unitPrice;
+        private double lineTotal;
+
+        public Builder setOrderLineID(String orderLineID){this.orderLineID=orderLineID;return this;}
+        public Builder setProductID(String productID){this.productID=productID;return this;}
+        public Builder setQuantity(int quantity){this.quantity=quantity;return this;}
+        public Builder setUnitPrice(double unitPrice){this.unitPrice=unitPrice;return this;}
+        public Builder setLineTotal(double lineTotal){this.lineTotal=lineTotal;return this;}
+
+        public Builder copy(OrderLine line){
+            this.orderLineID=line.orderLineID;
+            this.productID=line.productID;
+            this.quantity=line.quantity;
+            this.unitPrice=line.unitPrice;
+            this.lineTotal=line.lineTotal;
+            return this;
+        }
+
+        public OrderLine build(){return new OrderLine(this);}
+    }
+}
@@ -1,14 +1,24 @@
 package za.ac.cput.domain;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.*;
 
 /**
  * Product entity for Student Designer Marketplace.
  */
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_name_id", columnList = "name, productID"),
+        @Index(name = "idx_product_price_id", columnList = "price, productID"),
+        @Index(name = "idx_product_category_price_id", columnList = "category, price, productID")
+})
 public class Product {
     @Id
     private String productID;
@@ -29,14 +39,34 @@ public class Product {
 
     private boolean inStock;
 
-    @Column(columnDefinition = "TEXT")
-    private String sizes; // Stored as comma-separated string
-
-    @Column(columnDefinition = "TEXT")
-    private String colors; // Stored as comma-separated string
-
-    @Column(columnDefinition = "TEXT")
-    private String features; // Stored as comma-separated string
+    // Attribute lists live in indexed child tables, one row per value.
+    // SUBSELECT loads each list for a whole result set in one extra query.
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @BatchSize(size = 500)
+    @CollectionTable(name = "product_size", joinColumns = @JoinColumn(name = "productID"),
+            indexes = @Index(name = "idx_product_size_value", columnList = "size_value, productID"))
+    @OrderColumn(name = "position")
+    @Column(name = "size_value", length = 50)
+    private List<String> sizes = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @BatchSize(size = 500)
+    @CollectionTable(name = "product_color", joinColumns = @JoinColumn(name = "productID"),
+            indexes = @Index(name = "idx_product_color_value", columnList = "color_value, productID"))
+    @OrderColumn(name = "position")
+    @Column(name = "color_value", length = 50)
+    private List<String> colors = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @BatchSize(size = 500)
+    @CollectionTable(name = "product_feature", joinColumns = @JoinColumn(name = "productID"),
+            indexes = @Index(name = "idx_product_feature_value", columnList = "feature_value, productID"))
+    @OrderColumn(name = "position")
+    @Column(name = "feature_value", length = 255)
+    private List<String> features = new ArrayList<>();
 
     protected Product(){}
 
@@ -48,9 +78,9 @@ public class Product {
         this.imageUrl = builder.imageUrl;
         this.category = builder.category;
         this.inStock = builder.inStock;
-        this.sizes = builder.sizes;
-        this.colors = builder.colors;
-        this.features = builder.features;
+        this.sizes = builder.sizes == null ? new ArrayList<>() : new ArrayList<>(builder.sizes);
+        this.colors = builder.colors == null ? new ArrayList<>() : new ArrayList<>(builder.colors);
+        this.features = builder.features == null ? new ArrayList<>() : new ArrayList<>(builder.features);
     }
 
     public String getProductID(){return productID;}
@@ -60,9 +90,9 @@ public class Product {
     public String getImageUrl(){return imageUrl;}
     public String getCategory(){return category;}
     public boolean isInStock(){return inStock;}
-    public String getSizes(){return sizes;}
-    public String getColors(){return colors;}
-    public String getFeatures(){return features;}
+    public List<String> getSizes(){return sizes;}
+    public List<String> getColors(){return colors;}
+    public List<String> getFeatures(){return features;}
 
     @Override
     public boolean equals(Object o){
@@ -96,9 +126,9 @@ public class Product {
         ", imageUrl='" + imageUrl + '\'' +
         ", category='" + category + '\'' +
         ", inStock=" + inStock +
-        ", sizes='" + sizes + '\'' +
-        ", colors='" + colors + '\'' +
-        ", features='" + features + '\'' +
+        ", sizes=" + sizes +
+        ", colors=" + colors +
+        ", features=" + features +
         '}';
     }
 
@@ -110,9 +140,9 @@ public class Product {
     private String imageUrl;
     private String category;
     private boolean inStock;
-    private String sizes;
-    private String colors;
-    private String features;
+    private List<String> sizes;
+    private List<String> colors;
+    private List<String> features;
 
     public Builder setProductID(String productID){this.productID=productID;return this;}
     public Builder setName(String name){this.name=name;return this;}
@@ -121,9 +151,9 @@ public class Product {
     public Builder setImageUrl(String imageUrl){this.imageUrl=imageUrl;return this;}
     public Builder setCategory(String category){this.category=category;return this;}
     public Builder setInStock(boolean inStock){this.inStock=inStock;return this;}
-    public Builder setSizes(String sizes){this.sizes=sizes;return this;}
-    public Builder setColors(String colors){this.colors=colors;return this;}
-    public Builder setFeatures(String features){this.features=features;return this;}
+    public Builder setSizes(List<String> sizes){this.sizes=sizes;return this;}
+    public Builder setColors(List<String> colors){this.colors=colors;return this;}
+    public Builder setFeatures(List<String> features){this.features=features;return this;}
 
         public Builder copy(Product product){
             this.productID=product.productID;
@@ -141,4 +171,4 @@ public class Product {
 
         public Product build(){return new Product(this);}
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
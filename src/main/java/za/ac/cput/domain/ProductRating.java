@@ -0,0 +1,158 @@
+package za.ac.cput.domain;
+
+import java.util.Objects;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Running rating totals of one product's reviews: how many there are, the sum of their
+ * ratings and how many gave each star value. Kept in step with the review table by
+ * ReviewService, so product cards can show ratings without loading the reviews.
+ */
+@Entity
+@Table(name = "product_rating")
+public class ProductRating {
+    @Id
+    private String productID;
+    private long reviewCount;
+    private long ratingSum;
+    private long oneStar;
+    private long twoStars;
+    private long threeStars;
+    private long fourStars;
+    private long fiveStars;
+
+    protected ProductRating() {}
+
+    private ProductRating(Builder builder) {
+        this.productID = builder.productID;
+        this.reviewCount = builder.reviewCount;
+        this.ratingSum = builder.ratingSum;
+        this.oneStar = builder.oneStar;
+        this.twoStars = builder.twoStars;
+        this.threeStars = builder.threeStars;
+        this.fourStars = builder.fourStars;
+        this.fiveStars = builder.fiveStars;
+    }
+
+    // Summary of a product nobody has reviewed yet
+    public static ProductRating empty(String productID) {
+        return new Builder().setProductID(productID).build();
+    }
+
+    public String getProductID() { return productID; }
+    public long getReviewCount() { return reviewCount; }
+    public long getRatingSum() { return ratingSum; }
+    public long getOneStar() { return oneStar; }
+    public long getTwoStars() { return twoStars; }
+    public long getThreeStars() { return threeStars; }
+    public long getFourStars() { return fourStars; }
+    public long getFiveStars() { return fiveStars; }
+
+    public double getAverage() {
+        return reviewCount == 0 ? 0 : (double) ratingSum / reviewCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductRating that = (ProductRating) o;
+        return reviewCount == that.reviewCount &&
+                ratingSum == that.ratingSum &&
+                oneStar == that.oneStar &&
+                twoStars == that.twoStars &&
+                threeStars == that.threeStars &&
+                fourStars == that.fourStars &&
+                fiveStars == that.fiveStars &&
+                Objects.equals(productID, that.productID);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productID, reviewCount, ratingSum, oneStar, twoStars, threeStars, fourStars, fiveStars);
+    }
+
+    @Override
+    public String toString() {
+        return "ProductRating{" +
+                "productID='" + productID + '\'' +
+                ", reviewCount=" + reviewCount +
+                ", ratingSum=" + ratingSum +
+                ", oneStar=" + oneStar +
+                ", twoStars=" + twoStars +
+                ", threeStars=" + threeStars +
+                ", fourStars=" + fourStars +
+                ", fiveStars=" + fiveStars +
+                '}';
+    }
+
+    public static class Builder {
+        private String productID;
+        private long reviewCount;
+        private long ratingSum;
+        private long oneStar;
+        private long twoStars;
+        private long threeStars;
+        private long fourStars;
+        private long fiveStars;
+
+        public Builder setProductID(String productID) {
+            this.productID = productID;
+            return this;
+        }
+
+        public Builder setReviewCount(long reviewCount) {
+            this.reviewCount = reviewCount;
+            return this;
+        }
+
+        public Builder setRatingSum(long ratingSum) {
+            this.ratingSum = ratingSum;
+            return this;
+        }
+
+        public Builder setOneStar(long oneStar) {
+            this.oneStar = oneStar;
+            return this;
+        }
+
+        public Builder setTwoStars(long twoStars) {
+            this.twoStars = twoStars;
+            return this;
+        }
+
+        public Builder setThreeStars(long threeStars) {
+            this.threeStars = threeStars;
+            return this;
+        }
+
+        public Builder setFourStars(long fourStars) {
+            this.fourStars = fourStars;
+            return this;
+        }
+
+        public Builder setFiveStars(long fiveStars) {
+            this.fiveStars = fiveStars;
+            return this;
+        }
+
+        public Builder copy(ProductRating rating) {
+            this.productID = rating.productID;
+            this.reviewCount = rating.reviewCount;
+            this.ratingSum = rating.ratingSum;
+            this.oneStar = rating.oneStar;
+            this.twoStars = rating.twoStars;
+            this.threeStars = rating.threeStars;
+            this.fourStars = rating.fourStars;
+            this.fiveStars = rating.fiveStars;
+            return this;
+        }
+
+        public ProductRating build() {
+            return new ProductRating(this);
+        }
+    }
+}
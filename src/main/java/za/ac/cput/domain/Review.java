@@ -2,10 +2,19 @@ package za.ac.cput.domain;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
+@Table(indexes = {
+        // A product's reviews newest first; the productID prefix also serves findByProductID
+        @Index(name = "idx_review_product_created", columnList = "productID, createdAt DESC, reviewID DESC"),
+        // Highest rated first reads this forwards, lowest rated first backwards
+        @Index(name = "idx_review_product_rating", columnList = "productID, rating DESC, createdAt DESC, reviewID DESC")
+})
 public class Review {
     @Id
     private String reviewID;
@@ -13,6 +22,7 @@ public class Review {
     private String customerID;
     private int rating;
     private String comment;
+    private LocalDateTime createdAt;
 
 
     protected Review() {}
@@ -23,6 +33,7 @@ public class Review {
         this.customerID = builder.customerID;
         this.rating = builder.rating;
         this.comment = builder.comment;
+        this.createdAt = builder.createdAt;
     }
 
     // Getters
@@ -46,6 +57,10 @@ public class Review {
         return comment;
     }
 
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
     // equals & hashCode
     @Override
     public boolean equals(Object o) {
@@ -56,12 +71,13 @@ public class Review {
                 Objects.equals(reviewID, review.reviewID) &&
                 Objects.equals(productID, review.productID) &&
                 Objects.equals(customerID, review.customerID) &&
-                Objects.equals(comment, review.comment);
+                Objects.equals(comment, review.comment) &&
+                Objects.equals(createdAt, review.createdAt);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(reviewID, productID, customerID, rating, comment);
+        return Objects.hash(reviewID, productID, customerID, rating, comment, createdAt);
     }
 
     // toString
@@ -73,6 +89,7 @@ public class Review {
                 ", customerID='" + customerID + '\'' +
                 ", rating=" + rating +
                 ", comment='" + comment + '\'' +
+                ", createdAt=" + createdAt +
                 '}';
     }
 
@@ -83,6 +100,7 @@ public class Review {
         private String customerID;
         private int rating;
         private String comment;
+        private LocalDateTime createdAt;
 
         public Builder setReviewID(String reviewID) {
             this.reviewID = reviewID;
@@ -109,12 +127,18 @@ public class Review {
             return this;
         }
 
+        public Builder setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
         public Builder copy(Review review) {
             this.reviewID = review.reviewID;
             this.productID = review.productID;
             this.customerID = review.customerID;
             this.rating = review.rating;
             this.comment = review.comment;
+            this.createdAt = review.createdAt;
             return this;
         }
 
@@ -10,6 +10,7 @@ import jakarta.persistence.*;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_user_email", columnList = "email"))
 @Inheritance(strategy = InheritanceType.JOINED)
 public class User {
 
@@ -127,4 +128,4 @@ public class User {
             return new User(this);
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,8 +1,12 @@
 package za.ac.cput.factory;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.UUID;
 
 import za.ac.cput.domain.Order;
+import za.ac.cput.domain.OrderLine;
 import za.ac.cput.util.Helper;
 
 public class OrderFactory {
@@ -26,6 +30,7 @@ public class OrderFactory {
                 .setTotal(total)
                 .setPaymentMethod(paymentMethod)
                 .setPaymentStatus(paymentStatus)
+                .setCreatedAt(now())
                 .build();
     }
 
@@ -33,4 +38,59 @@ public class OrderFactory {
     public static Order buildOrder(String productID, String customerID, int quantity, double total) {
         return buildOrder(productID, customerID, quantity, total, "Card");
     }
-}
\ No newline at end of file
+
+    public static OrderLine buildOrderLine(String productID, int quantity, double unitPrice) {
+        if (Helper.isNullOrEmpty(productID) || quantity <= 0 || unitPrice < 0) {
+            return null;
+        }
+
+        return new OrderLine.Builder()
+                .setOrderLineID(UUID.randomUUID().toString())
+                .setProductID(productID)
+                .setQuantity(quantity)
+                .setUnitPrice(unitPrice)
+                .setLineTotal(unitPrice * quantity)
+                .build();
+    }
+
+    // Multi-line order, quantity and total are the sums over the lines
+    public static Order buildOrder(String customerID, List<OrderLine> lines, String paymentMethod) {
+        if (Helper.isNullOrEmpty(customerID) || lines == null || lines.isEmpty()) {
+            return null;
+        }
+
+        if (!Helper.isValidPaymentMethod(paymentMethod)) {
+            return null;
+        }
+
+        int quantity = 0;
+        double total = 0;
+        for (OrderLine line : lines) {
+            // Checked here rather than with lines.contains(null), which immutable lists reject
+            if (line == null) {
+                return null;
+            }
+            quantity += line.getQuantity();
+            total += line.getLineTotal();
+        }
+
+        String paymentStatus = paymentMethod.equalsIgnoreCase("Cash") ? "PENDING_PICKUP" : "PENDING";
+
+        return new Order.Builder()
+                .setOrderID(UUID.randomUUID().toString())
+                .setProductID(lines.size() == 1 ? lines.get(0).getProductID() : null)
+                .setCustomerID(customerID)
+                .setQuantity(quantity)
+                .setTotal(total)
+                .setPaymentMethod(paymentMethod)
+                .setPaymentStatus(paymentStatus)
+                .setCreatedAt(now())
+                .setLines(lines)
+                .build();
+    }
+
+    // Truncated to what the datetime(6) column stores, so history cursors match the database value
+    public static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
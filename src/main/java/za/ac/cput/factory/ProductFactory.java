@@ -1,5 +1,6 @@
 package za.ac.cput.factory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,11 +34,6 @@ public class ProductFactory {
 
         String productID = UUID.randomUUID().toString();
 
-        // Convert lists to comma-separated strings
-        String sizesStr = (sizes != null && !sizes.isEmpty()) ? String.join(",", sizes) : "";
-        String colorsStr = (colors != null && !colors.isEmpty()) ? String.join(",", colors) : "";
-        String featuresStr = (features != null && !features.isEmpty()) ? String.join(",", features) : "";
-
         return new Product.Builder()
                 .setProductID(productID)
                 .setName(name)
@@ -46,9 +42,27 @@ public class ProductFactory {
                 .setImageUrl(imageUrl)
                 .setCategory(category)
                 .setInStock(inStock)
-                .setSizes(sizesStr)
-                .setColors(colorsStr)
-                .setFeatures(featuresStr)
+                .setSizes(clean(sizes))
+                .setColors(clean(colors))
+                .setFeatures(clean(features))
                 .build();
     }
-}
\ No newline at end of file
+
+    // Trims values and drops blanks and duplicates
+    private static List<String> clean(List<String> values) {
+        List<String> cleaned = new ArrayList<>();
+        if (values == null) {
+            return cleaned;
+        }
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            String trimmed = value.trim();
+            if (!trimmed.isEmpty() && !cleaned.contains(trimmed)) {
+                cleaned.add(trimmed);
+            }
+        }
+        return cleaned;
+    }
+}
\ No newline at end of file
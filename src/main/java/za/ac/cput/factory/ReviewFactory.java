@@ -3,6 +3,8 @@ package za.ac.cput.factory;
 import za.ac.cput.domain.Review;
 import za.ac.cput.util.Helper;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 public class ReviewFactory {
@@ -25,6 +27,8 @@ public class ReviewFactory {
                     .setProductID(productID)
                     .setRating(rating)
                     .setComment(comment)
+                    // Truncated to what the datetime(6) column stores, so page cursors match the database value
+                    .setCreatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                     .build();
         }
-    }
\ No newline at end of file
+    }
\ No newline at end of file
@@ -1,9 +1,58 @@
 package za.ac.cput.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import za.ac.cput.domain.Order;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
-}
\ No newline at end of file
+
+    // Row-locked read for updates and deletes: concurrent writers to one order queue up and each sees the last commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.orderID = :orderID")
+    Optional<Order> findForUpdate(@Param("orderID") String orderID);
+
+    // Keyset paging over all orders: the next ids after the given one in primary key order
+    @Query("select o.orderID from Order o where o.orderID > :after order by o.orderID")
+    List<String> findIDsAfter(@Param("after") String after, Limit limit);
+
+    // One chunk of orders with their lines in a single statement
+    @Query("select o from Order o left join fetch o.lines where o.orderID in :ids order by o.orderID")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    List<Order> findChunk(@Param("ids") Collection<String> ids);
+
+    // First page of a customer's history, newest first (idx_orders_customer_created)
+    List<Order> findByCustomerIDOrderByCreatedAtDescOrderIDDesc(String customerID, Limit limit);
+
+    // Following pages continue after the (createdAt, orderID) of the last row seen
+    @Query("select o from Order o where o.customerID = :customerID and "
+            + "(o.createdAt < :createdAt or (o.createdAt = :createdAt and o.orderID < :orderID)) "
+            + "order by o.createdAt desc, o.orderID desc")
+    List<Order> findByCustomerIDAfter(@Param("customerID") String customerID,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("orderID") String orderID,
+                                      Limit limit);
+
+    // One pass over orders for the dashboard: {paymentStatus, paymentMethod, count, revenue}
+    @Query("select o.paymentStatus, o.paymentMethod, count(o), coalesce(sum(o.total), 0) from Order o "
+            + "group by o.paymentStatus, o.paymentMethod")
+    List<Object[]> summarizeByStatusAndMethod();
+
+    // Each customer's newest order(s): {customerID, orderID, createdAt, total, paymentMethod, paymentStatus}
+    @Query("select o.customerID, o.orderID, o.createdAt, o.total, o.paymentMethod, o.paymentStatus from Order o "
+            + "where o.createdAt = (select max(o2.createdAt) from Order o2 where o2.customerID = o.customerID)")
+    List<Object[]> findLatestPerCustomer();
+}
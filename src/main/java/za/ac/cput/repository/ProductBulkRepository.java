@@ -0,0 +1,19 @@
+package za.ac.cput.repository;
+
+import java.util.List;
+
+import za.ac.cput.domain.Product;
+
+/**
+ * Bulk insert path for ProductRepository (seeding and admin imports).
+ */
+public interface ProductBulkRepository {
+
+    /**
+     * Inserts new products in JDBC batches, flushing and clearing the persistence
+     * context every chunk so memory stays flat however many products are passed.
+     *
+     * @return the number of products inserted
+     */
+    int persistAll(List<Product> products);
+}
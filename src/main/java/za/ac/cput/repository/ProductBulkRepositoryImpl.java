@@ -0,0 +1,41 @@
+package za.ac.cput.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import za.ac.cput.domain.Product;
+
+/**
+ * Uses persist rather than saveAll: products carry an assigned id, so save/saveAll
+ * would merge each one and issue a SELECT per row before the insert.
+ * The inserts (and the size/colour/feature rows) are grouped by
+ * hibernate.jdbc.batch_size and order_inserts.
+ */
+public class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.products.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    @Transactional
+    public int persistAll(List<Product> products) {
+        int count = 0;
+        for (Product product : products) {
+            entityManager.persist(product);
+            if (++count % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return count;
+    }
+}
@@ -0,0 +1,52 @@
+package za.ac.cput.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import za.ac.cput.domain.ProductRating;
+
+@Repository
+public interface ProductRatingRepository extends JpaRepository<ProductRating, String> {
+
+    /**
+     * Adds delta reviews with the given rating to a product's summary in one statement,
+     * creating the row for the product's first review. Relative updates mean concurrent
+     * reviews of the same product cannot lose each other's counts.
+     * A single upsert rather than an UPDATE followed by an INSERT: on InnoDB an UPDATE that
+     * matches no row takes a gap lock, and inserting into that gap from another
+     * transaction (or INSERT IGNORE's shared lock on a duplicate) can then wait or deadlock.
+     * MySQL syntax; the h2 profile runs H2 in MySQL mode.
+     */
+    @Modifying
+    @Query(value = "insert into product_rating (productid, review_count, rating_sum, one_star, two_stars, "
+            + "three_stars, four_stars, five_stars) values (:productID, :delta, :delta * :rating, "
+            + "case when :rating = 1 then :delta else 0 end, case when :rating = 2 then :delta else 0 end, "
+            + "case when :rating = 3 then :delta else 0 end, case when :rating = 4 then :delta else 0 end, "
+            + "case when :rating = 5 then :delta else 0 end) "
+            + "on duplicate key update review_count = review_count + :delta, "
+            + "rating_sum = rating_sum + :delta * :rating, "
+            + "one_star = one_star + case when :rating = 1 then :delta else 0 end, "
+            + "two_stars = two_stars + case when :rating = 2 then :delta else 0 end, "
+            + "three_stars = three_stars + case when :rating = 3 then :delta else 0 end, "
+            + "four_stars = four_stars + case when :rating = 4 then :delta else 0 end, "
+            + "five_stars = five_stars + case when :rating = 5 then :delta else 0 end",
+            nativeQuery = true)
+    int adjust(String productID, int rating, int delta);
+
+    // Summarises the reviews of every product that has no summary row yet
+    @Transactional
+    @Modifying
+    @Query("insert into ProductRating (productID, reviewCount, ratingSum, oneStar, twoStars, threeStars, "
+            + "fourStars, fiveStars) "
+            + "select r.productID, count(r), sum(r.rating), "
+            + "sum(case when r.rating = 1 then 1 else 0 end), sum(case when r.rating = 2 then 1 else 0 end), "
+            + "sum(case when r.rating = 3 then 1 else 0 end), sum(case when r.rating = 4 then 1 else 0 end), "
+            + "sum(case when r.rating = 5 then 1 else 0 end) "
+            + "from Review r where r.productID is not null "
+            + "and not exists (select 1 from ProductRating p where p.productID = r.productID) "
+            + "group by r.productID")
+    int insertMissing();
+}
@@ -1,9 +1,61 @@
 package za.ac.cput.repository;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 import za.ac.cput.domain.Product;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, String> {
-}
\ No newline at end of file
+public interface ProductRepository extends JpaRepository<Product, String>, JpaSpecificationExecutor<Product>,
+        ProductBulkRepository {
+
+    // Reads at most limit ids from the primary key, a cheap "are there at least n products" check
+    @Query("select p.productID from Product p")
+    List<String> findProductIDs(Limit limit);
+
+    // Keyset paging over the whole catalog: the next ids after the given one in primary key order
+    @Query("select p.productID from Product p where p.productID > :after order by p.productID")
+    List<String> findIDsAfter(String after, Limit limit);
+
+    /**
+     * One chunk of products with their sizes, colours and features, in three statements
+     * besides this one: the lists are EAGER with FetchMode.SUBSELECT, so each is read for
+     * the whole chunk by re-running this query as a subselect. That is why chunks are
+     * loaded by id and not with a limit (the subselect drops the limit), and why the lists
+     * are not join fetched here (three lists in one join multiply the rows per product).
+     * ProductChunkQueryTest pins the statement count.
+     */
+    @Query("select p from Product p where p.productID in :ids order by p.productID")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    List<Product> findChunk(Collection<String> ids);
+
+    // Hands the whole catalog to action size products at a time, each chunk detached after its own query
+    default void forEachChunk(int size, Consumer<List<Product>> action) {
+        List<String> ids = findIDsAfter("", Limit.of(size));
+        while (!ids.isEmpty()) {
+            action.accept(findChunk(ids));
+            ids = ids.size() < size ? List.of() : findIDsAfter(ids.get(ids.size() - 1), Limit.of(size));
+        }
+    }
+
+    // The products with the given ids in the order of the ids, skipping ids that no longer exist
+    default List<Product> findAllInOrder(List<String> ids) {
+        Map<String, Product> byID = new HashMap<>();
+        for (Product product : findAllById(ids)) {
+            byID.put(product.getProductID(), product);
+        }
+        return ids.stream().map(byID::get).filter(Objects::nonNull).toList();
+    }
+}
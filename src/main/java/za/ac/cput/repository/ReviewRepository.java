@@ -2,10 +2,14 @@ package za.ac.cput.repository;
 
 
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import za.ac.cput.domain.Review;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,5 +19,49 @@ public interface ReviewRepository extends JpaRepository<Review, String> {
     List<Review> findByProductID(String productID);
     List<Review> findByRating(int rating);
     List<Review> findByCommentContainingIgnoreCase(String keyword);
-}
 
+    // A product's reviews page by page, newest first (idx_review_product_created). The constant
+    // productID leads every ORDER BY so H2 also reads the rows in index order instead of sorting.
+    @Query("select r from Review r where r.productID = :productID "
+            + "order by r.productID, r.createdAt desc, r.reviewID desc")
+    List<Review> findByProductIDNewest(@Param("productID") String productID, Limit limit);
+
+    // Following pages continue after the (createdAt, reviewID) of the last row seen
+    @Query("select r from Review r where r.productID = :productID and "
+            + "(r.createdAt < :createdAt or (r.createdAt = :createdAt and r.reviewID < :reviewID)) "
+            + "order by r.productID, r.createdAt desc, r.reviewID desc")
+    List<Review> findByProductIDNewestAfter(@Param("productID") String productID,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("reviewID") String reviewID,
+                                           Limit limit);
+
+    // Highest rated first, newest first within a rating (idx_review_product_rating)
+    @Query("select r from Review r where r.productID = :productID "
+            + "order by r.productID, r.rating desc, r.createdAt desc, r.reviewID desc")
+    List<Review> findByProductIDHighest(@Param("productID") String productID, Limit limit);
+
+    @Query("select r from Review r where r.productID = :productID and "
+            + "(r.rating < :rating or (r.rating = :rating and (r.createdAt < :createdAt "
+            + "or (r.createdAt = :createdAt and r.reviewID < :reviewID)))) "
+            + "order by r.productID, r.rating desc, r.createdAt desc, r.reviewID desc")
+    List<Review> findByProductIDHighestAfter(@Param("productID") String productID,
+                                            @Param("rating") int rating,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("reviewID") String reviewID,
+                                            Limit limit);
+
+    // Lowest rated first, the exact reverse of the highest order so it walks the same index backwards
+    @Query("select r from Review r where r.productID = :productID "
+            + "order by r.productID desc, r.rating asc, r.createdAt asc, r.reviewID asc")
+    List<Review> findByProductIDLowest(@Param("productID") String productID, Limit limit);
+
+    @Query("select r from Review r where r.productID = :productID and "
+            + "(r.rating > :rating or (r.rating = :rating and (r.createdAt > :createdAt "
+            + "or (r.createdAt = :createdAt and r.reviewID > :reviewID)))) "
+            + "order by r.productID desc, r.rating asc, r.createdAt asc, r.reviewID asc")
+    List<Review> findByProductIDLowestAfter(@Param("productID") String productID,
+                                           @Param("rating") int rating,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("reviewID") String reviewID,
+                                           Limit limit);
+}
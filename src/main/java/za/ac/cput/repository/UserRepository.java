@@ -1,12 +1,40 @@
 package za.ac.cput.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import za.ac.cput.domain.AccountPrincipal;
 import za.ac.cput.domain.User;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    // Login columns of the user and admin tables in one round trip (both indexed on email)
+    @Query("select u.email, u.password, u.role, u.firstName, u.lastName, u.userId, cast(null as Long) from User u "
+            + "where u.email = :email "
+            + "union all "
+            + "select a.email, a.password, a.role, a.firstName, a.lastName, null, a.id from Admin a "
+            + "where a.email = :email")
+    List<Object[]> findPrincipalRows(@Param("email") String email);
+
+    // Users take precedence over admins with the same email, as in the original two-step lookup
+    default Optional<AccountPrincipal> findPrincipalByEmail(String email) {
+        AccountPrincipal admin = null;
+        for (Object[] row : findPrincipalRows(email)) {
+            AccountPrincipal principal = new AccountPrincipal((String) row[0], (String) row[1], (String) row[2],
+                    (String) row[3], (String) row[4], (UUID) row[5], (Long) row[6]);
+            if (!principal.isAdmin()) {
+                return Optional.of(principal);
+            }
+            if (admin == null) {
+                admin = principal;
+            }
+        }
+        return Optional.ofNullable(admin);
+    }
 }
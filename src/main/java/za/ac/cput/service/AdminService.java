@@ -5,22 +5,30 @@
 
 package za.ac.cput.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import za.ac.cput.domain.Admin;
 import za.ac.cput.repository.AdminRepository;
+import za.ac.cput.util.VerifiedTokenCache;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class AdminService implements IAdminService {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminService.class);
+
     private final AdminRepository repository;
+    private final VerifiedTokenCache tokenCache;
 
     @Autowired
-    public AdminService(AdminRepository repository) {
+    public AdminService(AdminRepository repository, VerifiedTokenCache tokenCache) {
         this.repository = repository;
+        this.tokenCache = tokenCache;
     }
 
 
@@ -44,9 +52,14 @@ public class AdminService implements IAdminService {
         return repository.findById(adminId).orElse(null);
     }
 
+    /**
+     * Tokens carry the email as subject and the role as a claim, so a change to the
+     * email, password or role makes every token issued before it invalid.
+     */
     @Override
     public Admin update(Admin admin) {
-        if (repository.existsById(admin.getId())) {
+        Admin existing = repository.findById(admin.getId()).orElse(null);
+        if (existing != null) {
             Admin updatedAdmin = new Admin.Builder()
                     .setId(admin.getId())
                     .setFirstName(admin.getFirstName())
@@ -56,9 +69,15 @@ public class AdminService implements IAdminService {
                     .setRole("ADMIN")
                     .build();
 
-            return repository.save(updatedAdmin);
+            Admin saved = repository.save(updatedAdmin);
+            if (!Objects.equals(existing.getEmail(), saved.getEmail())
+                    || !Objects.equals(existing.getPassword(), saved.getPassword())
+                    || !Objects.equals(existing.getRole(), saved.getRole())) {
+                tokenCache.revokeAll(existing.getEmail());
+            }
+            return saved;
         } else {
-            System.out.println("Admin with ID " + admin.getId() + " does not exist.");
+            log.warn("Admin with ID {} does not exist", admin.getId());
             return null;
         }
     }
@@ -71,7 +90,10 @@ public class AdminService implements IAdminService {
 
     @Override
     public void delete(long adminId) {
-        repository.deleteById(adminId);
+        repository.findById(adminId).ifPresent(existing -> {
+            repository.deleteById(adminId);
+            tokenCache.revokeAll(existing.getEmail());
+        });
     }
 
     @Override
@@ -23,8 +23,8 @@ public class AuthService {
     }
 
     public Object registerUser(String firstName, String lastName, String email, String password, String role) {
-        // Check if email already exists in either table
-        if (userRepository.findByEmail(email).isPresent() || adminRepository.findByEmail(email).isPresent()) {
+        // Check if email already exists in either table (single query)
+        if (userRepository.findPrincipalByEmail(email).isPresent()) {
             throw new RuntimeException("Email already exists");
         }
 
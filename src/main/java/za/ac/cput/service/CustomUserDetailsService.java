@@ -1,54 +1,25 @@
 package za.ac.cput.service;
 
-import java.util.Collections;
-import java.util.Optional;
-
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import za.ac.cput.domain.Admin;
-import za.ac.cput.domain.User;
-import za.ac.cput.repository.AdminRepository;
 import za.ac.cput.repository.UserRepository;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final AdminRepository adminRepository;
 
-    public CustomUserDetailsService(UserRepository userRepository, AdminRepository adminRepository) {
+    public CustomUserDetailsService(UserRepository userRepository) {
         this.userRepository = userRepository;
-        this.adminRepository = adminRepository;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Check User table first (Customer, Designer)
-        Optional<User> userOpt = userRepository.findByEmail(email);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            return new org.springframework.security.core.userdetails.User(
-                    user.getEmail(),
-                    user.getPassword(),
-                    Collections.singletonList(new SimpleGrantedAuthority(user.getRole()))
-            );
-        }
-
-        // Check Admin table
-        Optional<Admin> adminOpt = adminRepository.findByEmail(email);
-        if (adminOpt.isPresent()) {
-            Admin admin = adminOpt.get();
-            return new org.springframework.security.core.userdetails.User(
-                    admin.getEmail(),
-                    admin.getPassword(),
-                    Collections.singletonList(new SimpleGrantedAuthority(admin.getRole()))
-            );
-        }
-
-        throw new UsernameNotFoundException("User not found: " + email);
+        // One query over both the User (Customer, Designer) and Admin tables
+        return userRepository.findPrincipalByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
     }
 }
@@ -0,0 +1,299 @@
+package za.ac.cput.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import za.ac.cput.domain.Order;
+import za.ac.cput.repository.AdminRepository;
+import za.ac.cput.repository.CustomerRepository;
+import za.ac.cput.repository.OrderRepository;
+import za.ac.cput.repository.ProductRepository;
+
+/**
+ * Figures for the admin dashboard.
+ * Order counts, revenue per payment status and method, and each customer's latest
+ * order are aggregated in SQL once the application is ready and then kept up to date
+ * by OrderService, so building the dashboard never scans the orders table.
+ * Changes made inside a transaction are applied only after it commits, and the lock is
+ * taken before the commit and released after the change is applied, so rebuild never
+ * runs between the two and changes to one order are applied in commit order.
+ * State is guarded by a ReentrantLock rather than synchronized because rebuild and
+ * apply query the database while holding it, which would pin a virtual thread's carrier.
+ */
+@Service
+public class DashboardService {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final ProductRepository productRepository;
+    private final AdminRepository adminRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Bucket> byPaymentStatus = new TreeMap<>();
+    private final Map<String, Bucket> byPaymentMethod = new TreeMap<>();
+    private final Map<String, LatestOrder> latestOrders = new HashMap<>();
+    private long orderCount;
+    private double revenue;
+
+    public DashboardService(OrderRepository orderRepository, CustomerRepository customerRepository,
+                            ProductRepository productRepository, AdminRepository adminRepository) {
+        this.orderRepository = orderRepository;
+        this.customerRepository = customerRepository;
+        this.productRepository = productRepository;
+        this.adminRepository = adminRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.lock();
+        try {
+            byPaymentStatus.clear();
+            byPaymentMethod.clear();
+            latestOrders.clear();
+            orderCount = 0;
+            revenue = 0;
+
+            for (Object[] row : orderRepository.summarizeByStatusAndMethod()) {
+                long count = ((Number) row[2]).longValue();
+                double total = ((Number) row[3]).doubleValue();
+                bucket(byPaymentStatus, (String) row[0]).add(count, total);
+                bucket(byPaymentMethod, (String) row[1]).add(count, total);
+                orderCount += count;
+                revenue += total;
+            }
+            for (Object[] row : orderRepository.findLatestPerCustomer()) {
+                offerLatest(new LatestOrder((String) row[0], (String) row[1], (LocalDateTime) row[2],
+                        ((Number) row[3]).doubleValue(), (String) row[4], (String) row[5]));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void orderPlaced(Order order) {
+        afterCommit(() -> apply(null, order));
+    }
+
+    public void orderChanged(Order before, Order after) {
+        afterCommit(() -> apply(before, after));
+    }
+
+    public void orderRemoved(Order order) {
+        afterCommit(() -> apply(order, null));
+    }
+
+    /**
+     * Current figures. Customer, product and admin totals are plain COUNT queries on
+     * those (small) tables; everything about orders comes from the maintained summary.
+     */
+    public Dashboard snapshot() {
+        long customers = customerRepository.count();
+        long products = productRepository.count();
+        long admins = adminRepository.count();
+        lock.lock();
+        try {
+            return new Dashboard(customers, products, admins, orderCount, revenue,
+                    copy(byPaymentStatus), copy(byPaymentMethod), new HashMap<>(latestOrders));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(Order removed, Order added) {
+        lock.lock();
+        try {
+            if (removed != null) {
+                count(removed, -1);
+            }
+            if (added != null) {
+                count(added, 1);
+                offerLatest(LatestOrder.of(added));
+            }
+            // The customer's latest order went away (or moved to another customer), look up the next one
+            if (removed != null && removed.getCustomerID() != null) {
+                LatestOrder latest = latestOrders.get(removed.getCustomerID());
+                boolean stillThere = added != null && removed.getOrderID().equals(added.getOrderID())
+                        && removed.getCustomerID().equals(added.getCustomerID());
+                if (latest != null && latest.getOrderID().equals(removed.getOrderID()) && !stillThere) {
+                    latestOrders.remove(removed.getCustomerID());
+                    List<Order> next = orderRepository.findByCustomerIDOrderByCreatedAtDescOrderIDDesc(
+                            removed.getCustomerID(), Limit.of(1));
+                    if (!next.isEmpty()) {
+                        offerLatest(LatestOrder.of(next.get(0)));
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void count(Order order, int sign) {
+        bucket(byPaymentStatus, order.getPaymentStatus()).add(sign, sign * order.getTotal());
+        bucket(byPaymentMethod, order.getPaymentMethod()).add(sign, sign * order.getTotal());
+        orderCount += sign;
+        revenue += sign * order.getTotal();
+    }
+
+    // Keeps the newer of the stored and offered order, ties broken on orderID like the history query
+    private void offerLatest(LatestOrder candidate) {
+        if (candidate.getCustomerID() == null) {
+            return;
+        }
+        latestOrders.merge(candidate.getCustomerID(), candidate, (current, offered) -> {
+            if (current.getOrderID().equals(offered.getOrderID())) {
+                return offered;
+            }
+            return isNewer(offered, current) ? offered : current;
+        });
+    }
+
+    private static boolean isNewer(LatestOrder a, LatestOrder b) {
+        LocalDateTime aTime = a.getCreatedAt() == null ? LocalDateTime.MIN : a.getCreatedAt();
+        LocalDateTime bTime = b.getCreatedAt() == null ? LocalDateTime.MIN : b.getCreatedAt();
+        int byTime = aTime.compareTo(bTime);
+        return byTime != 0 ? byTime > 0 : a.getOrderID().compareTo(b.getOrderID()) > 0;
+    }
+
+    private static Bucket bucket(Map<String, Bucket> buckets, String key) {
+        return buckets.computeIfAbsent(key == null ? UNKNOWN : key, k -> new Bucket());
+    }
+
+    private static Map<String, Bucket> copy(Map<String, Bucket> buckets) {
+        Map<String, Bucket> copy = new LinkedHashMap<>();
+        buckets.forEach((key, bucket) -> {
+            if (bucket.getOrders() > 0) {
+                copy.put(key, new Bucket(bucket.getOrders(), bucket.getRevenue()));
+            }
+        });
+        return copy;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    lock.lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (locked) {
+                        locked = false;
+                        lock.unlock();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public static class Bucket {
+        private long orders;
+        private double revenue;
+
+        Bucket() {}
+
+        Bucket(long orders, double revenue) {
+            this.orders = orders;
+            this.revenue = revenue;
+        }
+
+        void add(long orders, double revenue) {
+            this.orders += orders;
+            this.revenue += revenue;
+        }
+
+        public long getOrders() { return orders; }
+        public double getRevenue() { return revenue; }
+    }
+
+    public static class LatestOrder {
+        private final String customerID;
+        private final String orderID;
+        private final LocalDateTime createdAt;
+        private final double total;
+        private final String paymentMethod;
+        private final String paymentStatus;
+
+        public LatestOrder(String customerID, String orderID, LocalDateTime createdAt, double total,
+                           String paymentMethod, String paymentStatus) {
+            this.customerID = customerID;
+            this.orderID = orderID;
+            this.createdAt = createdAt;
+            this.total = total;
+            this.paymentMethod = paymentMethod;
+            this.paymentStatus = paymentStatus;
+        }
+
+        static LatestOrder of(Order order) {
+            return new LatestOrder(order.getCustomerID(), order.getOrderID(), order.getCreatedAt(),
+                    order.getTotal(), order.getPaymentMethod(), order.getPaymentStatus());
+        }
+
+        public String getCustomerID() { return customerID; }
+        public String getOrderID() { return orderID; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public double getTotal() { return total; }
+        public String getPaymentMethod() { return paymentMethod; }
+        public String getPaymentStatus() { return paymentStatus; }
+    }
+
+    public static class Dashboard {
+        private final long totalCustomers;
+        private final long totalProducts;
+        private final long totalAdmins;
+        private final long totalOrders;
+        private final double totalRevenue;
+        private final Map<String, Bucket> byPaymentStatus;
+        private final Map<String, Bucket> byPaymentMethod;
+        private final Map<String, LatestOrder> latestOrders;
+
+        public Dashboard(long totalCustomers, long totalProducts, long totalAdmins, long totalOrders,
+                         double totalRevenue, Map<String, Bucket> byPaymentStatus,
+                         Map<String, Bucket> byPaymentMethod, Map<String, LatestOrder> latestOrders) {
+            this.totalCustomers = totalCustomers;
+            this.totalProducts = totalProducts;
+            this.totalAdmins = totalAdmins;
+            this.totalOrders = totalOrders;
+            this.totalRevenue = totalRevenue;
+            this.byPaymentStatus = byPaymentStatus;
+            this.byPaymentMethod = byPaymentMethod;
+            this.latestOrders = latestOrders;
+        }
+
+        public long getTotalCustomers() { return totalCustomers; }
+        public long getTotalProducts() { return totalProducts; }
+        public long getTotalAdmins() { return totalAdmins; }
+        public long getTotalOrders() { return totalOrders; }
+        public double getTotalRevenue() { return totalRevenue; }
+        public Map<String, Bucket> getByPaymentStatus() { return byPaymentStatus; }
+        public Map<String, Bucket> getByPaymentMethod() { return byPaymentMethod; }
+        // Keyed by customerID
+        public Map<String, LatestOrder> getLatestOrders() { return latestOrders; }
+    }
+}
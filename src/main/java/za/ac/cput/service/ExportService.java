@@ -0,0 +1,136 @@
+package za.ac.cput.service;
+
+import java.io.BufferedOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import za.ac.cput.domain.Order;
+import za.ac.cput.domain.Product;
+import za.ac.cput.repository.OrderRepository;
+import za.ac.cput.repository.ProductRepository;
+import za.ac.cput.util.CsvWriter;
+
+/**
+ * Streams whole tables to a response as NDJSON or CSV. Rows are read clearEvery at a time
+ * in primary key order, each chunk's ids starting after the last id of the previous one,
+ * and the persistence context is cleared after every chunk, so heap use does not depend on the
+ * size of the table. Plain bounded queries need no server-side cursor (no connection-wide
+ * driver setting) and leave the connection free for the chunk's collection loads.
+ */
+@Service
+public class ExportService {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    private static final String[] PRODUCT_COLUMNS = {"productID", "name", "description", "price", "imageUrl",
+            "category", "inStock", "sizes", "colors", "features"};
+    private static final String[] ORDER_COLUMNS = {"orderID", "customerID", "createdAt", "total", "paymentMethod",
+            "paymentStatus", "productID", "quantity", "lines"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final int clearEvery;
+
+    public ExportService(ProductRepository productRepository, OrderRepository orderRepository,
+                         ObjectMapper objectMapper, @Value("${app.export.clear-every:500}") int clearEvery) {
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.clearEvery = clearEvery;
+    }
+
+    // Content type for a format, or null when the format is not supported
+    public static MediaType mediaType(String format) {
+        if (NDJSON.equals(format)) {
+            return MediaType.parseMediaType("application/x-ndjson");
+        }
+        if (CSV.equals(format)) {
+            return new MediaType("text", "csv", StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    // Same columns as the /products/import CSV header (productID is ignored on import)
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream out, String format) throws IOException {
+        return write(after -> productRepository.findIDsAfter(after, Limit.of(clearEvery)),
+                productRepository::findChunk, out, format, PRODUCT_COLUMNS, product -> new Object[]{
+                        product.getProductID(), product.getName(), product.getDescription(), product.getPrice(),
+                        product.getImageUrl(), product.getCategory(), product.isInStock(),
+                        String.join("|", product.getSizes()), String.join("|", product.getColors()),
+                        String.join("|", product.getFeatures())});
+    }
+
+    // CSV lines column: productID:quantity:unitPrice per line, separated by '|'
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream out, String format) throws IOException {
+        return write(after -> orderRepository.findIDsAfter(after, Limit.of(clearEvery)),
+                orderRepository::findChunk, out, format, ORDER_COLUMNS, order -> new Object[]{
+                        order.getOrderID(), order.getCustomerID(), order.getCreatedAt(), order.getTotal(),
+                        order.getPaymentMethod(), order.getPaymentStatus(), order.getProductID(), order.getQuantity(),
+                        order.getLines().stream()
+                                .map(line -> line.getProductID() + ":" + line.getQuantity() + ":" + line.getUnitPrice())
+                                .collect(Collectors.joining("|"))});
+    }
+
+    private <T> long write(Function<String, List<String>> nextIDs, Function<List<String>, List<T>> load,
+                           OutputStream out, String format, String[] columns, Function<T, Object[]> csvRow) throws IOException {
+        RowWriter<T> writer;
+        Flushable flushable;
+        if (CSV.equals(format)) {
+            CsvWriter csv = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            csv.writeRecord((Object[]) columns);
+            writer = row -> csv.writeRecord(csvRow.apply(row));
+            flushable = csv::flush;
+        } else if (NDJSON.equals(format)) {
+            OutputStream buffered = new BufferedOutputStream(out);
+            writer = row -> {
+                buffered.write(objectMapper.writeValueAsBytes(row));
+                buffered.write('\n');
+            };
+            flushable = buffered;
+        } else {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        // Each chunk arrives with its collections loaded and is detached once written
+        long count = 0;
+        List<String> ids = nextIDs.apply("");
+        while (!ids.isEmpty()) {
+            List<T> chunk = load.apply(ids);
+            for (T row : chunk) {
+                writer.write(row);
+            }
+            count += chunk.size();
+            entityManager.clear();
+            ids = ids.size() < clearEvery ? List.of() : nextIDs.apply(ids.get(ids.size() - 1));
+        }
+        flushable.flush();
+        return count;
+    }
+
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
@@ -1,8 +1,10 @@
 package za.ac.cput.service;
 
 import za.ac.cput.domain.Order;
+import za.ac.cput.util.CursorPage;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IOrderService {
     Order create(Order order);
@@ -10,4 +12,6 @@ public interface IOrderService {
     Order update(Order order);
     void delete(String orderID);
     List<Order> getAll();
-}
\ No newline at end of file
+    CursorPage<Order> getCustomerOrders(String customerID, String cursor, int size);
+    Order checkout(String customerID, String paymentMethod, Map<String, Integer> quantities);
+}
\ No newline at end of file
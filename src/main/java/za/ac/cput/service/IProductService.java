@@ -1,13 +1,17 @@
 package za.ac.cput.service;
 
 import za.ac.cput.domain.Product;
+import za.ac.cput.util.CursorPage;
 
 import java.util.List;
 
 public interface IProductService {
     Product create(Product product);
+    int createAll(List<Product> products);
     Product read(String productID);
     Product update(Product product);
     void delete(String productID);
     List<Product> getAll();
-}
\ No newline at end of file
+    CursorPage<Product> getPage(String sortBy, String direction, String category, Double minPrice,
+                                Double maxPrice, Boolean inStock, String cursor, int size);
+}
@@ -1,21 +1,47 @@
 package za.ac.cput.service;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import za.ac.cput.domain.Order;
+import za.ac.cput.domain.OrderLine;
+import za.ac.cput.domain.Product;
+import za.ac.cput.factory.OrderFactory;
 import za.ac.cput.repository.OrderRepository;
+import za.ac.cput.repository.ProductRepository;
+import za.ac.cput.util.CursorPage;
 
 @Service
 public class OrderService implements IOrderService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository repository;
+    private final ProductRepository productRepository;
+    private final DashboardService dashboardService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public OrderService(OrderRepository repository){
+    public OrderService(OrderRepository repository, ProductRepository productRepository,
+                        DashboardService dashboardService){
         this.repository = repository;
+        this.productRepository = productRepository;
+        this.dashboardService = dashboardService;
     }
 
     @Override
@@ -28,8 +54,11 @@ public class OrderService implements IOrderService {
                 .setTotal(order.getTotal())
                 .setPaymentMethod(order.getPaymentMethod())
                 .setPaymentStatus(order.getPaymentStatus())
+                .setCreatedAt(order.getCreatedAt() != null ? order.getCreatedAt() : OrderFactory.now())
                 .build();
-        return repository.save(newOrder);
+        Order saved = repository.save(newOrder);
+        dashboardService.orderPlaced(saved);
+        return saved;
     }
 
     @Override
@@ -37,9 +66,16 @@ public class OrderService implements IOrderService {
         return repository.findById(orderID).orElse(null);
     }
 
+    /**
+     * Locks the order row first, so two concurrent updates cannot both start from the
+     * same old state and report the same change to the dashboard twice.
+     */
     @Override
+    @Transactional
     public Order update(Order order){
-        if(repository.existsById(order.getOrderID())){
+        Order existing = repository.findForUpdate(order.getOrderID()).orElse(null);
+        if(existing != null){
+            // Lines are fixed at checkout, only the header can change
             Order updated = new Order.Builder()
                     .setOrderID(order.getOrderID())
                     .setProductID(order.getProductID())
@@ -48,19 +84,114 @@ public class OrderService implements IOrderService {
                     .setTotal(order.getTotal())
                     .setPaymentMethod(order.getPaymentMethod())
                     .setPaymentStatus(order.getPaymentStatus())
+                    .setCreatedAt(existing.getCreatedAt())
+                    .setLines(existing.getLines())
                     .build();
-            return repository.save(updated);
+            // existing is the managed instance and save() merges into it, keep a detached copy of the old state
+            Order before = new Order.Builder().copy(existing).build();
+            Order saved = repository.save(updated);
+            dashboardService.orderChanged(before, saved);
+            return saved;
         }
         return null;
     }
 
     @Override
+    @Transactional
     public void delete(String orderID){
-        repository.deleteById(orderID);
+        Order existing = repository.findForUpdate(orderID).orElse(null);
+        if(existing == null){
+            return;
+        }
+        repository.delete(existing);
+        dashboardService.orderRemoved(existing);
     }
 
     @Override
     public List<Order> getAll(){
         return repository.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * One page of a customer's order history, newest first. Both queries seek
+     * into idx_orders_customer_created, so a page costs {@code size} index rows
+     * however many orders other customers have placed.
+     */
+    @Override
+    public CursorPage<Order> getCustomerOrders(String customerID, String cursor, int size){
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to find out whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        String[] after = CursorPage.decodeCursor(cursor);
+        List<Order> rows;
+        if(after == null){
+            rows = repository.findByCustomerIDOrderByCreatedAtDescOrderIDDesc(customerID, limit);
+        } else {
+            LocalDateTime createdAt;
+            try {
+                createdAt = LocalDateTime.parse(after[0]);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            rows = repository.findByCustomerIDAfter(customerID, createdAt, after[1], limit);
+        }
+
+        String nextCursor = null;
+        if(rows.size() > pageSize){
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            Order last = rows.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(last.getCreatedAt().toString(), last.getOrderID());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * Places a whole cart as one order. All products are loaded with a single
+     * findAllById, prices come from the catalog rather than the client, and the
+     * order and its lines are inserted in one transaction (batched by Hibernate).
+     *
+     * @param quantities productID -> quantity, in cart order
+     * @throws IllegalArgumentException when a line is invalid, listing every problem
+     */
+    @Override
+    @Transactional
+    public Order checkout(String customerID, String paymentMethod, Map<String, Integer> quantities){
+        if(quantities == null || quantities.isEmpty()){
+            throw new IllegalArgumentException("Cart is empty");
+        }
+        Map<String, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getProductID, Function.identity()));
+
+        List<String> errors = new ArrayList<>();
+        List<OrderLine> lines = new ArrayList<>();
+        for(Map.Entry<String, Integer> entry : quantities.entrySet()){
+            Product product = products.get(entry.getKey());
+            if(product == null){
+                errors.add("Unknown product " + entry.getKey());
+            } else if(!product.isInStock()){
+                errors.add(product.getName() + " is out of stock");
+            } else {
+                OrderLine line = OrderFactory.buildOrderLine(product.getProductID(),
+                        entry.getValue() == null ? 0 : entry.getValue(), product.getPrice());
+                if(line == null){
+                    errors.add("Invalid quantity for " + product.getName());
+                } else {
+                    lines.add(line);
+                }
+            }
+        }
+        if(!errors.isEmpty()){
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        Order order = OrderFactory.buildOrder(customerID, lines, paymentMethod);
+        if(order == null){
+            throw new IllegalArgumentException("Invalid customer or payment method");
+        }
+        // persist rather than save: the id is assigned, so merge would SELECT the order and every line first
+        entityManager.persist(order);
+        dashboardService.orderPlaced(order);
+        return order;
+    }
+}
@@ -0,0 +1,275 @@
+package za.ac.cput.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import za.ac.cput.domain.Product;
+import za.ac.cput.repository.ProductRepository;
+import za.ac.cput.util.Helper;
+
+/**
+ * Faceted filtering over the catalog.
+ * Every product gets a dense slot number and every facet value (category, size,
+ * colour, price bucket, stock state) keeps a BitSet of the slots that carry it,
+ * so a filter is a handful of bitwise ORs/ANDs and a facet count is a cardinality.
+ * Like the search index it is built when the application is ready and kept in
+ * sync by ProductService, and it holds product ids only: the products of a result
+ * page are loaded by id per query.
+ */
+@Service
+public class ProductFacetService {
+
+    public static final String CATEGORY = "category";
+    public static final String SIZE = "size";
+    public static final String COLOR = "color";
+    public static final String PRICE = "price";
+    public static final String IN_STOCK = "inStock";
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // Upper bounds of the price buckets, the last bucket is open ended
+    private static final double[] PRICE_EDGES = {250, 500, 1000, 2500};
+
+    // Products read per query while rebuilding
+    private static final int REBUILD_CHUNK = 1000;
+
+    private final ProductRepository repository;
+
+    private final Map<String, Map<String, BitSet>> facets = new LinkedHashMap<>();
+    private final Map<String, Integer> slotByID = new HashMap<>();
+    private final List<String> slots = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ProductFacetService(ProductRepository repository) {
+        this.repository = repository;
+        for (String facet : List.of(CATEGORY, SIZE, COLOR, PRICE, IN_STOCK)) {
+            facets.put(facet, new TreeMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            facets.values().forEach(Map::clear);
+            slotByID.clear();
+            slots.clear();
+            freeSlots.clear();
+            live.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        repository.forEachChunk(REBUILD_CHUNK, products -> {
+            lock.writeLock().lock();
+            try {
+                for (Product product : products) {
+                    removeProduct(product.getProductID());
+                    addProduct(product);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void index(Product product) {
+        if (product == null || product.getProductID() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeProduct(product.getProductID());
+            addProduct(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productID) {
+        lock.writeLock().lock();
+        try {
+            removeProduct(productID);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the selected facet values and returns the matching products together
+     * with the count for every facet value. Values of one facet are ORed, facets are
+     * ANDed. Counts for a facet ignore that facet's own selection, so the client can
+     * show how many results each alternative value would give.
+     *
+     * @param selected facet name -> accepted values; missing or empty means no filter
+     */
+    public FacetResult filter(Map<String, ? extends Collection<String>> selected, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<String> ids = new ArrayList<>();
+        int total;
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+
+        lock.readLock().lock();
+        try {
+            Map<String, BitSet> selections = new HashMap<>();
+            for (Map.Entry<String, ? extends Collection<String>> entry : selected.entrySet()) {
+                Map<String, BitSet> values = facets.get(entry.getKey());
+                if (values == null) {
+                    throw new IllegalArgumentException("Unknown facet: " + entry.getKey());
+                }
+                if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                    continue;
+                }
+                BitSet union = new BitSet();
+                for (String value : entry.getValue()) {
+                    BitSet bits = values.get(normalize(value));
+                    if (bits != null) {
+                        union.or(bits);
+                    }
+                }
+                selections.put(entry.getKey(), union);
+            }
+
+            BitSet matches = (BitSet) live.clone();
+            selections.values().forEach(matches::and);
+
+            for (Map.Entry<String, Map<String, BitSet>> facet : facets.entrySet()) {
+                BitSet base = (BitSet) live.clone();
+                for (Map.Entry<String, BitSet> selection : selections.entrySet()) {
+                    if (!selection.getKey().equals(facet.getKey())) {
+                        base.and(selection.getValue());
+                    }
+                }
+                Map<String, Integer> valueCounts = new LinkedHashMap<>();
+                for (Map.Entry<String, BitSet> value : facet.getValue().entrySet()) {
+                    BitSet bits = (BitSet) value.getValue().clone();
+                    bits.and(base);
+                    int count = bits.cardinality();
+                    if (count > 0) {
+                        valueCounts.put(value.getKey(), count);
+                    }
+                }
+                counts.put(facet.getKey(), valueCounts);
+            }
+
+            for (int slot = matches.nextSetBit(0); slot >= 0 && ids.size() < max; slot = matches.nextSetBit(slot + 1)) {
+                ids.add(slots.get(slot));
+            }
+            total = matches.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new FacetResult(repository.findAllInOrder(ids), total, counts);
+    }
+
+    // Callers must hold the write lock
+    private void addProduct(Product product) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = slots.size();
+            slots.add(product.getProductID());
+        } else {
+            slot = freeSlots.pop();
+            slots.set(slot, product.getProductID());
+        }
+        slotByID.put(product.getProductID(), slot);
+        live.set(slot);
+        for (Map.Entry<String, List<String>> entry : valuesOf(product).entrySet()) {
+            Map<String, BitSet> values = facets.get(entry.getKey());
+            for (String value : entry.getValue()) {
+                values.computeIfAbsent(value, k -> new BitSet()).set(slot);
+            }
+        }
+    }
+
+    // Callers must hold the write lock. The product's values are not kept, so every value's
+    // bits are cleared; there are only as many values as categories, sizes, colours and buckets
+    private void removeProduct(String productID) {
+        Integer slot = slotByID.remove(productID);
+        if (slot == null) {
+            return;
+        }
+        for (Map<String, BitSet> values : facets.values()) {
+            values.values().removeIf(bits -> {
+                bits.clear(slot);
+                return bits.isEmpty();
+            });
+        }
+        live.clear(slot);
+        slots.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    private static Map<String, List<String>> valuesOf(Product product) {
+        Map<String, List<String>> values = new HashMap<>();
+        values.put(CATEGORY, Helper.isNullOrEmpty(product.getCategory())
+                ? List.of() : List.of(normalize(product.getCategory())));
+        values.put(SIZE, normalizeAll(product.getSizes()));
+        values.put(COLOR, normalizeAll(product.getColors()));
+        values.put(PRICE, List.of(priceBucket(product.getPrice())));
+        values.put(IN_STOCK, List.of(Boolean.toString(product.isInStock())));
+        return values;
+    }
+
+    private static List<String> normalizeAll(List<String> raw) {
+        if (raw == null || raw.isEmpty()) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>();
+        for (String part : raw) {
+            String value = normalize(part);
+            if (!value.isEmpty() && !values.contains(value)) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    static String priceBucket(double price) {
+        double lower = 0;
+        for (double edge : PRICE_EDGES) {
+            if (price < edge) {
+                return (long) lower + "-" + (long) edge;
+            }
+            lower = edge;
+        }
+        return (long) lower + "+";
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static class FacetResult {
+        private final List<Product> products;
+        private final int total;
+        private final Map<String, Map<String, Integer>> facets;
+
+        public FacetResult(List<Product> products, int total, Map<String, Map<String, Integer>> facets) {
+            this.products = products;
+            this.total = total;
+            this.facets = facets;
+        }
+
+        public List<Product> getProducts() { return products; }
+        public int getTotal() { return total; }
+        public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    }
+}
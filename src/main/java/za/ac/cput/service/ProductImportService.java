@@ -0,0 +1,252 @@
+package za.ac.cput.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import za.ac.cput.domain.Product;
+import za.ac.cput.factory.ProductFactory;
+import za.ac.cput.util.CsvReader;
+
+/**
+ * Streaming product import from NDJSON (one JSON object per line) or CSV (header row,
+ * list columns separated by '|'). Rows are read one at a time, validated through
+ * ProductFactory and inserted with ProductService.createAll in batches of batchSize, each
+ * batch in its own transaction. Only the current batch and the first maxReportedErrors
+ * row errors are kept, so memory does not grow with the size of the upload.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    private static final int MAX_ROW_LENGTH = 64 * 1024;
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "price", "imageurl", "category");
+    private static final String INVALID_FIELDS =
+            "Invalid input fields (name, description, imageUrl and category are required, price must be > 0)";
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductImportService(ProductService productService, ObjectMapper objectMapper,
+                                @Value("${app.products.import.batch-size:1000}") int batchSize,
+                                @Value("${app.products.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * @param format NDJSON or CSV
+     * @throws IllegalArgumentException when the format is unknown or the CSV header lacks a required column
+     */
+    public ImportReport importProducts(Reader reader, String format) throws IOException {
+        Batch batch = new Batch();
+        if (NDJSON.equals(format)) {
+            readNdjson(reader, batch);
+        } else if (CSV.equals(format)) {
+            readCsv(reader, batch);
+        } else {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+        batch.flush();
+        return batch.report;
+    }
+
+    private void readNdjson(Reader reader, Batch batch) throws IOException {
+        StringBuilder row = new StringBuilder();
+        int line = 0;
+        int c = 0;
+        while (c != -1) {
+            row.setLength(0);
+            line++;
+            boolean tooLong = false;
+            while ((c = reader.read()) != -1 && c != '\n') {
+                if (row.length() < MAX_ROW_LENGTH) {
+                    row.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+            }
+            if (tooLong) {
+                batch.reject(line, "Row longer than " + MAX_ROW_LENGTH + " characters");
+                continue;
+            }
+            String json = row.toString().trim();
+            if (json.isEmpty()) {
+                continue;
+            }
+            try {
+                ImportRow input = objectMapper.readValue(json, ImportRow.class);
+                batch.add(line, input == null ? null : ProductFactory.buildProduct(input.name, input.description,
+                        input.price == null ? 0 : input.price, input.imageUrl, input.category,
+                        input.inStock == null || input.inStock, input.sizes, input.colors, input.features));
+            } catch (JsonProcessingException e) {
+                batch.reject(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(Reader reader, Batch batch) throws IOException {
+        CsvReader csv = new CsvReader(reader, MAX_ROW_LENGTH);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+
+        while (true) {
+            List<String> fields;
+            try {
+                fields = csv.next();
+            } catch (CsvReader.RecordTooLongException e) {
+                batch.reject(e.getLine(), e.getMessage());
+                continue;
+            }
+            if (fields == null) {
+                break;
+            }
+            int line = csv.getRecordLine();
+            double price;
+            try {
+                String value = field(fields, columns, "price");
+                price = value == null || value.isBlank() ? 0 : Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                batch.reject(line, "Invalid price: " + field(fields, columns, "price"));
+                continue;
+            }
+            String inStock = field(fields, columns, "instock");
+            batch.add(line, ProductFactory.buildProduct(
+                    field(fields, columns, "name"),
+                    field(fields, columns, "description"),
+                    price,
+                    field(fields, columns, "imageurl"),
+                    field(fields, columns, "category"),
+                    inStock == null || inStock.isBlank() || Boolean.parseBoolean(inStock.trim()),
+                    list(field(fields, columns, "sizes")),
+                    list(field(fields, columns, "colors")),
+                    list(field(fields, columns, "features"))));
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    // ProductFactory trims values and drops blanks
+    private static List<String> list(String value) {
+        return value == null ? List.of() : Arrays.asList(value.split("\\|"));
+    }
+
+    // Collects valid rows and inserts them batchSize at a time
+    private class Batch {
+        final ImportReport report = new ImportReport();
+        final List<Product> products = new ArrayList<>(batchSize);
+        final List<Integer> lines = new ArrayList<>(batchSize);
+
+        void add(int line, Product product) {
+            if (product == null) {
+                reject(line, INVALID_FIELDS);
+                return;
+            }
+            products.add(product);
+            lines.add(line);
+            if (products.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(int line, String message) {
+            report.rejected++;
+            if (report.errors.size() < maxReportedErrors) {
+                report.errors.add(new RowError(line, message));
+            } else {
+                report.errorsTruncated = true;
+            }
+        }
+
+        void flush() {
+            if (products.isEmpty()) {
+                return;
+            }
+            try {
+                report.imported += productService.createAll(products);
+            } catch (RuntimeException e) {
+                // The batch was rolled back as a whole, report every row in it
+                log.warn("Product import batch (lines {}-{}) failed", lines.get(0), lines.get(lines.size() - 1), e);
+                for (int line : lines) {
+                    reject(line, "Batch failed: " + e.getMessage());
+                }
+            }
+            products.clear();
+            lines.clear();
+        }
+    }
+
+    // One NDJSON line; fields match the Product JSON
+    static class ImportRow {
+        public String name;
+        public String description;
+        public Double price;
+        public String imageUrl;
+        public String category;
+        public Boolean inStock;
+        public List<String> sizes;
+        public List<String> colors;
+        public List<String> features;
+    }
+
+    public static class ImportReport {
+        private long imported;
+        private long rejected;
+        private boolean errorsTruncated;
+        private final List<RowError> errors = new ArrayList<>();
+
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        // True when more rows failed than are listed in errors
+        public boolean isErrorsTruncated() { return errorsTruncated; }
+        public List<RowError> getErrors() { return errors; }
+    }
+
+    public static class RowError {
+        private final int line;
+        private final String message;
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,56 @@
+package za.ac.cput.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import za.ac.cput.Configuration.CacheConfig;
+import za.ac.cput.domain.ProductRating;
+import za.ac.cput.repository.ProductRatingRepository;
+
+/**
+ * Per-product rating summaries (count, sum and star histogram).
+ * Review writes adjust the summary row with a relative upsert inside the review's own
+ * transaction (no second connection, even for a product's first review), so the summary
+ * commits or rolls back together with the review. Reads go through the ratings cache;
+ * entries are evicted once the adjusting transaction commits.
+ */
+@Service
+public class ProductRatingService {
+
+    private final ProductRatingRepository repository;
+    private final Cache cache;
+
+    public ProductRatingService(ProductRatingRepository repository, CacheManager cacheManager) {
+        this.repository = repository;
+        this.cache = new TransactionAwareCacheDecorator(cacheManager.getCache(CacheConfig.RATINGS));
+    }
+
+    // sync so an eviction waits for a concurrent load instead of being overwritten by its stale result
+    @Cacheable(cacheNames = CacheConfig.RATINGS, key = "#productID", sync = true)
+    public ProductRating getSummary(String productID) {
+        return repository.findById(productID).orElseGet(() -> ProductRating.empty(productID));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewAdded(String productID, int rating) {
+        adjust(productID, rating, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewRemoved(String productID, int rating) {
+        adjust(productID, rating, -1);
+    }
+
+    private void adjust(String productID, int rating, int delta) {
+        if (productID == null) {
+            return;
+        }
+        repository.adjust(productID, rating, delta);
+        cache.evict(productID);
+    }
+}
@@ -0,0 +1,250 @@
+package za.ac.cput.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import za.ac.cput.domain.Product;
+import za.ac.cput.repository.ProductRepository;
+import za.ac.cput.util.Helper;
+
+/**
+ * In-process full-text search over the product catalog.
+ * Keeps an inverted index (term -> product -> weighted term frequency) over name,
+ * description, category and features and ranks matches with BM25.
+ * The index is built once the application is ready and then kept up to date by
+ * ProductService on every create, update and delete. Only ids, postings and lengths are
+ * kept on the heap; the products of a result page are loaded by id per query.
+ */
+@Service
+public class ProductSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // BM25 tuning constants
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field boosts, a hit in the name counts more than one in the description
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double CATEGORY_WEIGHT = 2.0;
+    private static final double FEATURES_WEIGHT = 1.5;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    // Prefix matches rank below whole-word matches and are capped per query term
+    private static final double PREFIX_BOOST = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    // Products read per query while rebuilding
+    private static final int REBUILD_CHUNK = 1000;
+
+    private final ProductRepository repository;
+
+    private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> documentTerms = new HashMap<>();
+    private final Map<String, Double> documentLengths = new HashMap<>();
+    private double totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ProductSearchService(ProductRepository repository) {
+        this.repository = repository;
+    }
+
+    // Runs after the CommandLineRunners so seeded products are included
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+            documentLengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        repository.forEachChunk(REBUILD_CHUNK, products -> {
+            lock.writeLock().lock();
+            try {
+                for (Product product : products) {
+                    removeDocument(product.getProductID());
+                    addDocument(product);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void index(Product product) {
+        if (product == null || product.getProductID() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(product.getProductID());
+            addDocument(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productID) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productID);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the products matching any of the query terms, best match first.
+     * Every query term also matches indexed terms that start with it.
+     */
+    public List<Product> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<String> ids = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (documentTerms.isEmpty()) {
+                return Collections.emptyList();
+            }
+            int documentCount = documentTerms.size();
+            double averageLength = totalLength / documentCount;
+            Map<String, Double> scores = new HashMap<>();
+
+            for (String queryTerm : new HashSet<>(queryTerms)) {
+                Map<String, Double> exact = postings.get(queryTerm);
+                if (exact != null) {
+                    accumulate(scores, exact, 1.0, documentCount, averageLength);
+                }
+                if (queryTerm.length() < MIN_PREFIX_LENGTH) {
+                    continue;
+                }
+                int expansions = 0;
+                for (Map.Entry<String, Map<String, Double>> entry
+                        : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                    if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    accumulate(scores, entry.getValue(), PREFIX_BOOST, documentCount, averageLength);
+                }
+            }
+
+            List<Map.Entry<String, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<String, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            for (int i = 0; i < ranked.size() && i < max; i++) {
+                ids.add(ranked.get(i).getKey());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return repository.findAllInOrder(ids);
+    }
+
+    private void accumulate(Map<String, Double> scores, Map<String, Double> posting, double boost,
+                            int documentCount, double averageLength) {
+        int df = posting.size();
+        double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        for (Map.Entry<String, Double> entry : posting.entrySet()) {
+            double tf = entry.getValue();
+            double length = documentLengths.get(entry.getKey());
+            double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+            scores.merge(entry.getKey(), boost * idf * norm, Double::sum);
+        }
+    }
+
+    // Callers must hold the write lock
+    private void addDocument(Product product) {
+        Map<String, Double> frequencies = new HashMap<>();
+        double length = 0;
+        length += addField(frequencies, product.getName(), NAME_WEIGHT);
+        length += addField(frequencies, product.getCategory(), CATEGORY_WEIGHT);
+        if (product.getFeatures() != null) {
+            length += addField(frequencies, String.join(" ", product.getFeatures()), FEATURES_WEIGHT);
+        }
+        length += addField(frequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        String id = product.getProductID();
+        for (Map.Entry<String, Double> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+        }
+        documentTerms.put(id, frequencies.keySet());
+        documentLengths.put(id, length);
+        totalLength += length;
+    }
+
+    // Callers must hold the write lock
+    private void removeDocument(String productID) {
+        Set<String> terms = documentTerms.remove(productID);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<String, Double> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(productID);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Double length = documentLengths.remove(productID);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    private static double addField(Map<String, Double> frequencies, String text, double weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Double::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    // Lower-cases and splits on anything that is not a letter or digit
+    static List<String> tokenize(String text) {
+        if (Helper.isNullOrEmpty(text)) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
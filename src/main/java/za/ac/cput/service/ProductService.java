@@ -1,21 +1,53 @@
 package za.ac.cput.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import za.ac.cput.Configuration.CacheConfig;
 import za.ac.cput.domain.Product;
 import za.ac.cput.repository.ProductRepository;
+import za.ac.cput.util.CursorPage;
+import za.ac.cput.util.EntityVersions;
+import za.ac.cput.util.Helper;
 
 @Service
 public class ProductService implements IProductService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository repository;
+    private final ProductSearchService searchService;
+    private final ProductFacetService facetService;
+    private final EntityVersions versions;
+    // Writes put or evict once the surrounding transaction (if any) commits
+    private final Cache cache;
+    // Loads use Caffeine directly, see read
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> loads;
 
     @Autowired
-    public ProductService(ProductRepository repository){
+    public ProductService(ProductRepository repository, ProductSearchService searchService,
+                          ProductFacetService facetService, EntityVersions versions, CacheManager cacheManager){
         this.repository = repository;
+        this.searchService = searchService;
+        this.facetService = facetService;
+        this.versions = versions;
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        this.cache = new TransactionAwareCacheDecorator(products);
+        this.loads = ((CaffeineCache) products).getNativeCache();
     }
 
     @Override
@@ -32,12 +64,40 @@ public class ProductService implements IProductService {
                 .setColors(product.getColors())
                 .setFeatures(product.getFeatures())
                 .build();
-        return repository.save(newProduct);
+        Product saved = repository.save(newProduct);
+        cache.put(saved.getProductID(), saved);
+        searchService.index(saved);
+        facetService.index(saved);
+        versions.bump(EntityVersions.PRODUCT, saved.getProductID());
+        return saved;
+    }
+
+    /**
+     * Bulk insert for imports. Products must be new (fresh ids from ProductFactory);
+     * they are written in JDBC batches by ProductRepository.persistAll and then added
+     * to the search and facet indexes.
+     */
+    @Override
+    public int createAll(List<Product> products){
+        int count = repository.persistAll(products);
+        for (Product product : products) {
+            searchService.index(product);
+            facetService.index(product);
+            versions.bump(EntityVersions.PRODUCT, product.getProductID());
+        }
+        return count;
     }
 
+    /**
+     * Read-through: misses load from the repository, unknown ids are not cached. The load
+     * runs inside Caffeine's per-key computation, so a put or evict by a concurrent write
+     * waits for it and lands last; plain cache-aside could put the row it loaded before the
+     * write back after the write's eviction. (@Cacheable(sync = true) would do the same but
+     * cannot skip caching a missing product.)
+     */
     @Override
     public Product read(String productID){
-        return repository.findById(productID).orElse(null);
+        return (Product) loads.get(productID, id -> repository.findById(productID).orElse(null));
     }
 
     @Override
@@ -55,7 +115,13 @@ public class ProductService implements IProductService {
                     .setColors(product.getColors())
                     .setFeatures(product.getFeatures())
                     .build();
-            return repository.save(updated);
+            Product saved = repository.save(updated);
+            cache.put(saved.getProductID(), saved);
+            searchService.index(saved);
+            facetService.index(saved);
+            // After the write, so a read that loaded the old row keeps the old ETag
+            versions.bump(EntityVersions.PRODUCT, saved.getProductID());
+            return saved;
         }
         return null;
     }
@@ -63,10 +129,133 @@ public class ProductService implements IProductService {
     @Override
     public void delete(String productID){
         repository.deleteById(productID);
+        cache.evict(productID);
+        searchService.remove(productID);
+        facetService.remove(productID);
+        versions.bump(EntityVersions.PRODUCT, productID);
     }
 
     @Override
     public List<Product> getAll(){
         return repository.findAll();
     }
-}
\ No newline at end of file
+
+    public List<Product> search(String query, int limit){
+        return searchService.search(query, limit);
+    }
+
+    public ProductFacetService.FacetResult filterByFacets(Map<String, List<String>> selected, int limit){
+        return facetService.filter(selected, limit);
+    }
+
+    /**
+     * Keyset (seek) pagination over the catalog. Instead of an OFFSET the query
+     * continues after the sort value and id of the last row of the previous page,
+     * so each page costs an index range scan of {@code size} rows.
+     */
+    @Override
+    public CursorPage<Product> getPage(String sortBy, String direction, String category, Double minPrice,
+                                       Double maxPrice, Boolean inStock, String cursor, int size) {
+        String field = sortField(sortBy);
+        boolean ascending = !"desc".equalsIgnoreCase(direction);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Specification<Product> spec = filter(category, minPrice, maxPrice, inStock);
+        String[] after = CursorPage.decodeCursor(cursor);
+        if (after != null) {
+            spec = spec.and(after(field, ascending, after[0], after[1]));
+        }
+
+        Sort.Direction dir = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = "productID".equals(field)
+                ? Sort.by(dir, "productID")
+                : Sort.by(dir, field).and(Sort.by(dir, "productID"));
+
+        // Fetch one extra row to find out whether another page exists
+        List<Product> rows = repository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            Product last = rows.get(pageSize - 1);
+            nextCursor = CursorPage.encodeCursor(sortValue(field, last), last.getProductID());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    private static String sortField(String sortBy) {
+        if (Helper.isNullOrEmpty(sortBy) || sortBy.equalsIgnoreCase("name")) {
+            return "name";
+        }
+        if (sortBy.equalsIgnoreCase("price")) {
+            return "price";
+        }
+        if (sortBy.equalsIgnoreCase("id")) {
+            return "productID";
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+    }
+
+    private static String sortValue(String field, Product product) {
+        switch (field) {
+            case "price":
+                return Double.toString(product.getPrice());
+            case "productID":
+                return product.getProductID();
+            default:
+                return product.getName();
+        }
+    }
+
+    static Specification<Product> filter(String category, Double minPrice, Double maxPrice, Boolean inStock) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (!Helper.isNullOrEmpty(category)) {
+                predicates.add(cb.equal(root.get("category"), category));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.ge(root.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.le(root.get("price"), maxPrice));
+            }
+            if (inStock != null) {
+                predicates.add(cb.equal(root.get("inStock"), inStock));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Rows strictly after (sortValue, id) in the requested order
+    private static Specification<Product> after(String field, boolean ascending, String sortValue, String id) {
+        Double price = null;
+        if ("price".equals(field)) {
+            try {
+                price = Double.valueOf(sortValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        Double lastPrice = price;
+        return (root, query, cb) -> {
+            Expression<String> idPath = root.get("productID");
+            Predicate idBeyond = beyond(cb, idPath, id, ascending);
+            if ("productID".equals(field)) {
+                return idBeyond;
+            }
+            if (lastPrice != null) {
+                Expression<Double> pricePath = root.get("price");
+                return cb.or(beyond(cb, pricePath, lastPrice, ascending),
+                        cb.and(cb.equal(pricePath, lastPrice), idBeyond));
+            }
+            Expression<String> namePath = root.get("name");
+            return cb.or(beyond(cb, namePath, sortValue, ascending),
+                    cb.and(cb.equal(namePath, sortValue), idBeyond));
+        };
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate beyond(CriteriaBuilder cb, Expression<? extends Y> path,
+                                                                     Y value, boolean ascending) {
+        return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+}
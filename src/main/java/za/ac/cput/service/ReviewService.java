@@ -2,25 +2,47 @@ package za.ac.cput.service;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import za.ac.cput.domain.ProductRating;
 import za.ac.cput.domain.Review;
 import za.ac.cput.repository.ReviewRepository;
+import za.ac.cput.util.CursorPage;
+import za.ac.cput.util.EntityVersions;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class ReviewService implements IReviewService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ReviewRepository repository;
+    private final EntityVersions versions;
+    private final ProductRatingService ratings;
 
     @Autowired
-    public ReviewService(ReviewRepository repository) {
+    public ReviewService(ReviewRepository repository, EntityVersions versions, ProductRatingService ratings) {
         this.repository = repository;
+        this.versions = versions;
+        this.ratings = ratings;
     }
 
     @Override
+    @Transactional
     public Review create(Review review) {
-        return repository.save(review);
+        Review saved = repository.save(review);
+        ratings.reviewAdded(saved.getProductID(), saved.getRating());
+        changed(saved.getProductID());
+        return saved;
     }
 
     @Override
@@ -29,16 +51,35 @@ public class ReviewService implements IReviewService {
     }
 
     @Override
+    @Transactional
     public Review update(Review review) {
-        if (repository.existsById(review.getReviewID())) {
-            return repository.save(review);
+        Review existing = repository.findById(review.getReviewID()).orElse(null);
+        if (existing != null) {
+            // Read before save: the merge copies the new state onto the managed instance
+            String oldProductID = existing.getProductID();
+            int oldRating = existing.getRating();
+            // Keep the original timestamp, it is the review's position in the newest-first listing
+            Review saved = repository.save(new Review.Builder().copy(review)
+                    .setCreatedAt(existing.getCreatedAt()).build());
+            if (oldRating != saved.getRating() || !Objects.equals(oldProductID, saved.getProductID())) {
+                ratings.reviewRemoved(oldProductID, oldRating);
+                ratings.reviewAdded(saved.getProductID(), saved.getRating());
+            }
+            changed(oldProductID);
+            changed(saved.getProductID());
+            return saved;
         }
         return null;
     }
 
     @Override
+    @Transactional
     public void delete(String reviewID) {
-        repository.deleteById(reviewID);
+        repository.findById(reviewID).ifPresent(existing -> {
+            repository.deleteById(reviewID);
+            ratings.reviewRemoved(existing.getProductID(), existing.getRating());
+            changed(existing.getProductID());
+        });
     }
 
     @Override
@@ -54,6 +95,75 @@ public class ReviewService implements IReviewService {
         return repository.findByProductID(productID);
     }
 
+    /**
+     * One page of a product's reviews sorted newest, highest or lowest rated first.
+     * Every order is a prefix scan of one of the review indexes that continues after the
+     * last row of the previous page, so a page costs {@code size} index rows however
+     * many reviews the product has.
+     */
+    public CursorPage<Review> getProductReviewPage(String productID, String sort, String cursor, int size) {
+        ReviewSort order = ReviewSort.parse(sort);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to find out whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+
+        String[] after = CursorPage.decodeCursor(cursor);
+        List<Review> rows;
+        if (after == null) {
+            switch (order) {
+                case HIGHEST:
+                    rows = repository.findByProductIDHighest(productID, limit);
+                    break;
+                case LOWEST:
+                    rows = repository.findByProductIDLowest(productID, limit);
+                    break;
+                default:
+                    rows = repository.findByProductIDNewest(productID, limit);
+            }
+        } else {
+            // Sort value is "createdAt" for newest and "rating createdAt" for the rating orders
+            String[] key = after[0].split(" ", 2);
+            LocalDateTime createdAt;
+            int rating = 0;
+            try {
+                createdAt = LocalDateTime.parse(key[key.length - 1]);
+                if (order != ReviewSort.NEWEST) {
+                    if (key.length != 2) {
+                        throw new IllegalArgumentException("Invalid cursor");
+                    }
+                    rating = Integer.parseInt(key[0]);
+                }
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            switch (order) {
+                case HIGHEST:
+                    rows = repository.findByProductIDHighestAfter(productID, rating, createdAt, after[1], limit);
+                    break;
+                case LOWEST:
+                    rows = repository.findByProductIDLowestAfter(productID, rating, createdAt, after[1], limit);
+                    break;
+                default:
+                    rows = repository.findByProductIDNewestAfter(productID, createdAt, after[1], limit);
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = new ArrayList<>(rows.subList(0, pageSize));
+            Review last = rows.get(pageSize - 1);
+            String sortValue = order == ReviewSort.NEWEST
+                    ? last.getCreatedAt().toString()
+                    : last.getRating() + " " + last.getCreatedAt();
+            nextCursor = CursorPage.encodeCursor(sortValue, last.getReviewID());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    public ProductRating getRatingSummary(String productID) {
+        return ratings.getSummary(productID);
+    }
+
     public List<Review> getReviewsByRating(int rating) {
         return repository.findByRating(rating);
     }
@@ -61,6 +171,44 @@ public class ReviewService implements IReviewService {
     public List<Review> searchReviewsByComment(String keyword) {
         return repository.findByCommentContainingIgnoreCase(keyword);
     }
+
+    private enum ReviewSort {
+        NEWEST, HIGHEST, LOWEST;
+
+        static ReviewSort parse(String sort) {
+            if (sort == null || sort.isBlank()) {
+                return NEWEST;
+            }
+            for (ReviewSort value : values()) {
+                if (value.name().equalsIgnoreCase(sort.trim())) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + sort + " (use newest, highest or lowest)");
+        }
+    }
+
+    // Invalidates the ETags of the review listings that include this product. Bumped once the
+    // transaction commits, so a listing read meanwhile can't be cached under the new ETag
+    private void changed(String productID) {
+        afterCommit(() -> {
+            versions.bump(EntityVersions.PRODUCT_REVIEWS, productID);
+            versions.bump(EntityVersions.ALL_REVIEWS);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
 
 
@@ -0,0 +1,141 @@
+package za.ac.cput.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader: one record per call, quoted fields may contain commas,
+ * doubled quotes and line breaks. Only the current record is held in memory, and a record
+ * longer than maxRecordLength is skipped (up to the next line break) and reported instead
+ * of being buffered.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int line = 1;
+    private int recordLine;
+    private int peeked = -2;
+
+    public CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Reads the next non-blank record.
+     *
+     * @return the record's fields, or null at end of input
+     * @throws RecordTooLongException when the record exceeds maxRecordLength; the reader
+     *         has moved past it and the next call continues with the following line
+     */
+    public List<String> next() throws IOException {
+        while (true) {
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean any = false;
+            int length = 0;
+            int c;
+            while (true) {
+                c = read();
+                if (c == -1) {
+                    break;
+                }
+                any = true;
+                if (++length > maxRecordLength) {
+                    skipLine(c);
+                    throw new RecordTooLongException(recordLine, maxRecordLength);
+                }
+                if (inQuotes) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c == '\r') {
+                    if (peek() == '\n') {
+                        read();
+                    }
+                    line++;
+                    break;
+                } else if (c == '"' && field.length() == 0) {
+                    inQuotes = true;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                if (c == -1) {
+                    return null;
+                }
+                continue; // blank line
+            }
+            return fields;
+        }
+    }
+
+    // Line on which the record last returned by next() started
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    private void skipLine(int c) throws IOException {
+        while (c != -1 && c != '\n') {
+            c = read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+
+    public static class RecordTooLongException extends IOException {
+        private final int line;
+
+        public RecordTooLongException(int line, int maxRecordLength) {
+            super("Row longer than " + maxRecordLength + " characters");
+            this.line = line;
+        }
+
+        public int getLine() {
+            return line;
+        }
+    }
+}
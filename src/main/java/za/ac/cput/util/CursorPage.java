@@ -0,0 +1,64 @@
+package za.ac.cput.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) paginated listing.
+ * The cursor is an opaque token holding the sort value and id of the last row,
+ * the client sends it back to get the next page.
+ */
+public class CursorPage<T> {
+    private static final String SEPARATOR = "\u001F";
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public int getSize() {
+        return items.size();
+    }
+
+    // Encodes the sort key and the tie-breaking id of the last row
+    public static String encodeCursor(String sortValue, String id) {
+        String raw = (sortValue == null ? "" : sortValue) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns {sortValue, id}, or null when no cursor was sent (first page)
+    public static String[] decodeCursor(String cursor) {
+        if (Helper.isNullOrEmpty(cursor)) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int split = raw.lastIndexOf(SEPARATOR);
+        if (split < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new String[]{raw.substring(0, split), raw.substring(split + 1)};
+    }
+}
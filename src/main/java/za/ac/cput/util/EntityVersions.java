@@ -0,0 +1,75 @@
+package za.ac.cput.util;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Version counters used to build strong ETags for public read endpoints.
+ * Services bump a counter whenever the data behind an endpoint changes, so a
+ * controller can answer If-None-Match with 304 Not Modified without loading
+ * anything from the repository.
+ * Counters live in memory; a per-boot epoch in every tag invalidates tags issued
+ * by an earlier run of the application.
+ */
+@Component
+public class EntityVersions {
+
+    public static final String PRODUCT = "p";
+    public static final String PRODUCT_REVIEWS = "pr";
+    public static final String ALL_REVIEWS = "r";
+
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    public void bump(String scope, String key) {
+        versions.merge(scope + ":" + key, 1L, Long::sum);
+    }
+
+    public void bump(String scope) {
+        bump(scope, "");
+    }
+
+    public String etag(String scope, String key) {
+        long version = versions.getOrDefault(scope + ":" + key, 0L);
+        return "\"" + epoch + "-" + scope + "-" + version + "\"";
+    }
+
+    public String etag(String scope) {
+        return etag(scope, "");
+    }
+
+    /**
+     * True when the If-None-Match request header lists the given tag, or is "*" and the
+     * resource exists (a "*" must not turn a 404 into a 304).
+     * If-None-Match uses weak comparison, so a W/ prefix is ignored.
+     */
+    public static boolean matches(String ifNoneMatch, String etag, boolean exists) {
+        if (Helper.isNullOrEmpty(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                if (exists) {
+                    return true;
+                }
+                continue;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // For collections, which always have a representation (possibly empty)
+    public static boolean matches(String ifNoneMatch, String etag) {
+        return matches(ifNoneMatch, etag, true);
+    }
+}
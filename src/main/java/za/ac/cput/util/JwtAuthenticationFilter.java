@@ -1,10 +1,10 @@
 package za.ac.cput.util;
 
 import java.io.IOException;
-import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -18,10 +18,12 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -38,10 +40,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String jwt = authHeader.substring(7);
 
         try {
-            String email = jwtUtil.extractEmail(jwt);
-            String role = jwtUtil.extractRole(jwt); // Extract role from token
-            
-            System.out.println("JWT Filter - Email: " + email + ", Role: " + role);
+            // Verified once per token, repeat requests are served from the cache
+            VerifiedTokenCache.VerifiedToken verified = tokenCache.verify(jwt);
+            if (verified == null) {
+                // Revoked (logout or password change), continue unauthenticated
+                filterChain.doFilter(request, response);
+                return;
+            }
+            String email = verified.getSubject();
 
 //            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 //                // Set authentication directly with role from token
@@ -56,20 +62,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 //                System.out.println("Authentication set with authority: " + role);
 //            }
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Ensure authority has ROLE_ prefix for Spring Security
-                String authority = role.startsWith("ROLE_") ? role : "ROLE_" + role;
-
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 email,
                                 null,
-                                List.of(new SimpleGrantedAuthority(authority))
+                                verified.getAuthorities()
                         );
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                System.out.println("Authentication set with authority: " + authority);
+                log.debug("Authenticated {} with {}", email, verified.getAuthorities());
             }
 
 
@@ -1,8 +1,12 @@
 package za.ac.cput.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Serializer;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -17,14 +21,30 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    @Value("${app.jwt.secret:your-very-secure-secret-key-that-is-at-least-256-bits-long-change-this-in-production}")
-    private String secretKey;
-
-    @Value("${app.jwt.expiration-ms:86400000}") // 24 hours default
-    private long jwtExpiration;
+    private final long jwtExpiration;
+
+    // Built once; all three are immutable and safe to share between request threads.
+    // Without an explicit (de)serializer jjwt creates a new Jackson ObjectMapper per builder.
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Serializer<Map<String, ?>> serializer = new JacksonSerializer<>();
+
+    public JwtUtil(@Value("${app.jwt.secret:your-very-secure-secret-key-that-is-at-least-256-bits-long-change-this-in-production}") String secretKey,
+                   @Value("${app.jwt.expiration-ms:86400000}") long jwtExpiration) { // 24 hours default
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .deserializeJsonWith(new JacksonDeserializer<>())
+                .build();
+    }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    /**
+     * Verifies the signature and expiry of a token and returns all of its claims.
+     * Callers that need several claims should call this once and read them from the result.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String extractEmail(String token) {
@@ -44,22 +64,10 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
     // Main token generation method with role and userId (supporting both Long and UUID)
     public String generateToken(String email, String role, Object userId) {
         Map<String, Object> claims = new HashMap<>();
@@ -82,16 +90,17 @@ public class JwtUtil {
 
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
+                .serializeToJsonWith(serializer)
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, String email) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
+        final Claims claims = parseClaims(token);
+        return (claims.getSubject().equals(email) && !claims.getExpiration().before(new Date()));
     }
 }
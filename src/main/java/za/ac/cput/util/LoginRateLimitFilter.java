@@ -0,0 +1,214 @@
+package za.ac.cput.util;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rate limits the login endpoints, which are public and cost a BCrypt verification each.
+ * Every POST to a limited path takes a token from the client IP's bucket and from the
+ * target email's bucket; when either is empty the request gets 429 with Retry-After
+ * before it reaches authentication. Login bodies over MAX_BODY_BYTES, whether declared by
+ * Content-Length or sent chunked, get 413 so the email bucket cannot be skipped.
+ *
+ * Limits come from app.rate-limit.login.limits as path:perIp:perEmail entries, each
+ * allowed per app.rate-limit.login.window. Buckets not used for a whole window are full
+ * again and are evicted; the total is also capped by max-keys so a spray of IPs or emails
+ * cannot grow memory without bound.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginRateLimitFilter.class);
+
+    // Login bodies are tiny; anything bigger is rejected
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final Map<String, Limit> limits = new HashMap<>();
+    private final long windowNanos;
+    private final Cache<String, TokenBucket> buckets;
+    private final ObjectMapper objectMapper;
+
+    public LoginRateLimitFilter(@Value("${app.rate-limit.login.limits:/auth/login:20:5,/admins/login:10:5,/customer/login:20:5}") List<String> limitSpecs,
+                                @Value("${app.rate-limit.login.window:1m}") Duration window,
+                                @Value("${app.rate-limit.login.max-keys:100000}") long maxKeys,
+                                ObjectMapper objectMapper) {
+        for (String spec : limitSpecs) {
+            String[] parts = spec.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Rate limit must be path:perIp:perEmail, got " + spec);
+            }
+            limits.put(parts[0], new Limit(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+        }
+        this.windowNanos = window.toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod()) || !limits.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = path(request);
+        Limit limit = limits.get(path);
+        HttpServletRequest forwarded = request;
+        long now = System.nanoTime();
+
+        long wait = take(path + "|ip|" + request.getRemoteAddr(), limit.perIp, now);
+        if (wait == 0) {
+            // Content-Length is only a hint (absent for chunked bodies), so the limit is
+            // enforced on what is actually read
+            byte[] body = request.getContentLengthLong() > MAX_BODY_BYTES
+                    ? null : request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body == null || body.length > MAX_BODY_BYTES) {
+                log.warn("Rejected oversized login body on {} from {}", path, request.getRemoteAddr());
+                reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Login request body is too large");
+                return;
+            }
+            forwarded = new CachedBodyRequest(request, body);
+            String email = email(body);
+            if (email != null) {
+                wait = take(path + "|email|" + email, limit.perEmail, now);
+            }
+        }
+
+        if (wait > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            log.warn("Rate limited {} from {}, retry after {}s", path, request.getRemoteAddr(), retryAfter);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, please retry later");
+            return;
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
+    private long take(String key, int capacity, long now) {
+        return buckets.get(key, k -> new TokenBucket(capacity, windowNanos, now)).tryConsume(now);
+    }
+
+    // The login DTOs use email, AuthController also accepts username
+    private String email(byte[] body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            JsonNode email = json == null ? null : json.hasNonNull("email") ? json.get("email") : json.get("username");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null; // malformed body, the controller rejects it
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static class Limit {
+        final int perIp;
+        final int perEmail;
+
+        Limit(int perIp, int perEmail) {
+            this.perIp = perIp;
+            this.perEmail = perEmail;
+        }
+    }
+
+    // Reads the (small) body up front so the email can be checked and the controller can still read it
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available (and fully read) at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package za.ac.cput.util;
+
+/**
+ * Thrown by BoundedPasswordEncoder when its queue is full. Controllers answer it with
+ * 503 Service Unavailable and a Retry-After header instead of queueing more hashing work.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Authentication is busy, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Finds the rejection in an exception's cause chain. DaoAuthenticationProvider wraps
+     * some encoder failures in an InternalAuthenticationServiceException.
+     *
+     * @return null when the failure had another cause
+     */
+    public static PasswordHashingBusyException find(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof PasswordHashingBusyException busy) {
+                return busy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package za.ac.cput.util;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs a sample of the SQL Hibernate executes, as an alternative to spring.jpa.show-sql,
+ * which prints every statement synchronously to stdout. Statements are logged (without
+ * bind values) to the za.ac.cput.sql logger at DEBUG, so sampling is switched on and off
+ * at runtime by changing that logger's level, e.g. an admin
+ * POST /actuator/loggers/za.ac.cput.sql {"configuredLevel":"DEBUG"}.
+ * While the logger is above DEBUG the cost per statement is one level check.
+ */
+@Component
+public class SampledSqlLogger implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger("za.ac.cput.sql");
+
+    private final double sampleRate;
+
+    public SampledSqlLogger(@Value("${app.logging.sql.sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.debug("{}", sql);
+        }
+        return sql;
+    }
+
+    // Registers this bean as the session factory's statement inspector
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -0,0 +1,44 @@
+package za.ac.cput.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to capacity tokens and refilling one token every
+ * window / capacity. The whole state is the time at which the bucket will be full again
+ * (the GCRA form of a token bucket), so taking a token is a single compareAndSet.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, long windowNanos, long nowNanos) {
+        if (capacity < 1 || windowNanos < capacity) {
+            throw new IllegalArgumentException("capacity must be >= 1 and window long enough to refill it");
+        }
+        this.intervalNanos = windowNanos / capacity;
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long next = base + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package za.ac.cput.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Size-bounded cache of verified bearer tokens for JwtAuthenticationFilter.
+ * Entries are keyed by a SHA-256 hash of the token (the raw token is never kept)
+ * and expire at the token's own exp claim, so a repeat request with the same token
+ * skips the HMAC check and JSON decoding.
+ *
+ * Revocation: revoke(token) rejects a single token until it expires (logout);
+ * revokeAll(subject) rejects every token issued to that subject before now
+ * (password change, account deletion).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> verified;
+    private final Cache<String, Long> revokedTokens;
+    // subject -> epoch second; tokens issued before it are rejected
+    private final Cache<String, Long> revokedBefore;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${app.jwt.cache.max-size:10000}") long maxSize,
+                              @Value("${app.jwt.expiration-ms:86400000}") long jwtExpiration) {
+        this.jwtUtil = jwtUtil;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilExpiry<VerifiedToken>(VerifiedToken::getExpiresAt))
+                .recordStats()
+                .build();
+        // Not size-bounded: evicting a revocation early would let the token back in
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfter(new UntilExpiry<Long>(expiresAt -> expiresAt))
+                .build();
+        // After one token lifetime every token issued before the cut-off has expired anyway
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpiration))
+                .build();
+    }
+
+    /**
+     * Returns the verified token, from the cache when possible.
+     *
+     * @return null when the token has been revoked
+     * @throws io.jsonwebtoken.JwtException when the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken result = verified.getIfPresent(key);
+        if (result == null || result.getExpiresAt() <= System.currentTimeMillis()) {
+            result = VerifiedToken.of(jwtUtil.parseClaims(token));
+            verified.put(key, result);
+        }
+        return isRevoked(key, result) ? null : result;
+    }
+
+    // Logout hook
+    public void revoke(String token) {
+        String key = hash(token);
+        VerifiedToken known = verified.getIfPresent(key);
+        verified.invalidate(key);
+        long expiresAt;
+        if (known != null) {
+            expiresAt = known.getExpiresAt();
+        } else {
+            try {
+                expiresAt = jwtUtil.parseClaims(token).getExpiration().getTime();
+            } catch (RuntimeException e) {
+                return; // invalid or expired tokens are rejected anyway
+            }
+        }
+        revokedTokens.put(key, expiresAt);
+    }
+
+    // Password change / account deletion hook
+    public void revokeAll(String subject) {
+        if (subject == null) {
+            return;
+        }
+        // iat has second precision, tokens issued later in this same second stay valid
+        revokedBefore.put(subject, System.currentTimeMillis() / 1000);
+    }
+
+    public Cache<String, VerifiedToken> getNativeCache() {
+        return verified;
+    }
+
+    public long getRevokedCount() {
+        return revokedTokens.estimatedSize();
+    }
+
+    private boolean isRevoked(String key, VerifiedToken token) {
+        if (revokedTokens.getIfPresent(key) != null) {
+            return true;
+        }
+        if (token.getSubject() == null) {
+            return false;
+        }
+        Long cutOff = revokedBefore.getIfPresent(token.getSubject());
+        return cutOff != null && token.getIssuedAt() / 1000 < cutOff;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Expires each entry at the epoch millis returned by the extractor
+    private static class UntilExpiry<V> implements Expiry<String, V> {
+        private final ToLongFunction<V> expiresAt;
+
+        UntilExpiry(ToLongFunction<V> expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, V value, long currentTime) {
+            long millis = expiresAt.applyAsLong(value) - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * The parts of a verified token the filter needs, with the granted authority
+     * built once per token rather than once per request.
+     */
+    public static class VerifiedToken {
+        private final String subject;
+        private final List<GrantedAuthority> authorities;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        VerifiedToken(String subject, String role, long issuedAt, long expiresAt) {
+            this.subject = subject;
+            // Ensure authority has ROLE_ prefix for Spring Security
+            String authority = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+            this.authorities = List.of(new SimpleGrantedAuthority(authority));
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        static VerifiedToken of(Claims claims) {
+            Date issued = claims.getIssuedAt();
+            Date expires = claims.getExpiration();
+            return new VerifiedToken(claims.getSubject(), claims.get("role", String.class),
+                    issued == null ? 0 : issued.getTime(), expires == null ? Long.MAX_VALUE : expires.getTime());
+        }
+
+        public String getSubject() { return subject; }
+        public List<GrantedAuthority> getAuthorities() { return authorities; }
+        public long getIssuedAt() { return issuedAt; }
+        public long getExpiresAt() { return expiresAt; }
+    }
+}
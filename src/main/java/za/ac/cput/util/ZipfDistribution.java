@@ -0,0 +1,42 @@
+package za.ac.cput.util;
+
+import java.util.Arrays;
+
+/**
+ * Zipf(n, s) over ranks 0..n-1: rank k is drawn with probability proportional to
+ * 1 / (k + 1)^s, so s = 0 is uniform and s around 1 gives a few very popular ranks and a
+ * long tail. The cumulative table is built once (8 bytes per rank) and each sample is a
+ * binary search, so sampling millions of times stays cheap.
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one rank");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    /**
+     * @param uniform a value in [0, 1), e.g. from Random.nextDouble()
+     * @return the rank whose cumulative probability first reaches the value
+     */
+    public int sample(double uniform) {
+        int index = Arrays.binarySearch(cumulative, uniform);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
@@ -0,0 +1,76 @@
+package za.ac.cput.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.ac.cput.domain.Order;
+import za.ac.cput.domain.OrderLine;
+import za.ac.cput.domain.Product;
+import za.ac.cput.factory.OrderFactory;
+import za.ac.cput.factory.ProductFactory;
+
+/**
+ * Throughput of the factories that every create, import and checkout request goes through.
+ * Inputs are built once in setUp so only validation, id generation and the builders are measured.
+ *
+ * Run all benchmarks with: mvn -Pbenchmark verify   (results in target/jmh-result.json)
+ * or just this class with: mvn -Pbenchmark verify -Djmh.include=FactoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FactoryBenchmark {
+
+    private List<String> sizes;
+    private List<String> colors;
+    private List<String> features;
+    private List<OrderLine> lines;
+
+    @Setup
+    public void setUp() {
+        sizes = List.of("S", " M ", "L", "", "M");
+        colors = List.of("Black", "White", "Olive");
+        features = List.of("Organic cotton", "Hand printed", "Relaxed fit");
+        lines = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            lines.add(OrderFactory.buildOrderLine("product-" + i, i + 1, 149.99));
+        }
+    }
+
+    @Benchmark
+    public Product buildProduct() {
+        return ProductFactory.buildProduct("Linen shirt", "Loose fit linen shirt", 349.99,
+                "https://example.com/images/linen-shirt.jpg", "Clothing", true, sizes, colors, features);
+    }
+
+    @Benchmark
+    public Product buildProductRejected() {
+        return ProductFactory.buildProduct("Linen shirt", "", 349.99,
+                "https://example.com/images/linen-shirt.jpg", "Clothing", true, sizes, colors, features);
+    }
+
+    @Benchmark
+    public Order buildOrder() {
+        return OrderFactory.buildOrder("product-1", "customer-1", 2, 299.98, "Card");
+    }
+
+    @Benchmark
+    public Order buildCheckoutOrder() {
+        return OrderFactory.buildOrder("customer-1", lines, "EFT");
+    }
+}
@@ -0,0 +1,68 @@
+package za.ac.cput.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import za.ac.cput.util.Helper;
+
+/**
+ * Throughput of the Helper validators used by the factories and registration, for a
+ * valid and an invalid input each.
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=HelperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelperBenchmark {
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    private String email;
+    private String url;
+    private String paymentMethod;
+    private String paymentStatus;
+
+    @Setup
+    public void setUp() {
+        email = valid ? "student.designer@example.ac.za" : "student.designer@@example";
+        url = valid ? "https://cdn.example.com/images/products/linen-shirt.jpg" : "htp:/cdn example com";
+        paymentMethod = valid ? "Online" : "Cheque";
+        paymentStatus = valid ? "PENDING_PICKUP" : "REFUNDED";
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return Helper.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean isValidURL() {
+        return Helper.isValidURL(url);
+    }
+
+    @Benchmark
+    public boolean isValidPaymentMethod() {
+        return Helper.isValidPaymentMethod(paymentMethod);
+    }
+
+    @Benchmark
+    public boolean isValidPaymentStatus() {
+        return Helper.isValidPaymentStatus(paymentStatus);
+    }
+}
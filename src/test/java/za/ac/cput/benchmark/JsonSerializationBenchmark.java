@@ -0,0 +1,93 @@
+package za.ac.cput.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import za.ac.cput.domain.Order;
+import za.ac.cput.domain.OrderLine;
+import za.ac.cput.domain.Product;
+import za.ac.cput.domain.Review;
+import za.ac.cput.factory.OrderFactory;
+import za.ac.cput.factory.ProductFactory;
+import za.ac.cput.factory.ReviewFactory;
+
+/**
+ * Cost of writing the list responses (/products/all, /orders/all, /reviews/product/{id})
+ * to JSON with a mapper configured like Spring Boot's, per list of {@code size} entities.
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=JsonSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "500"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<Product> products;
+    private List<Order> orders;
+    private List<Review> reviews;
+
+    @Setup
+    public void setUp() {
+        // Same date handling as the application's mapper (JavaTimeModule, ISO strings)
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        products = new ArrayList<>(size);
+        orders = new ArrayList<>(size);
+        reviews = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = ProductFactory.buildProduct("Product " + i, "Hand made item number " + i,
+                    100 + i, "https://example.com/images/" + i + ".jpg", "Category " + (i % 8), i % 5 != 0,
+                    List.of("S", "M", "L"), List.of("Black", "White"), List.of("Organic cotton", "Hand printed"));
+            products.add(product);
+            List<OrderLine> lines = List.of(
+                    OrderFactory.buildOrderLine(product.getProductID(), 1 + i % 3, product.getPrice()),
+                    OrderFactory.buildOrderLine("product-" + i, 1, 49.99));
+            orders.add(OrderFactory.buildOrder("customer-" + (i % 50), lines, "Card"));
+            reviews.add(ReviewFactory.buildReview("customer-" + (i % 50), product.getProductID(), 1 + i % 5,
+                    "Really happy with this one, the stitching is excellent and it arrived quickly. #" + i));
+        }
+    }
+
+    @Benchmark
+    public byte[] products() throws JsonProcessingException {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] orders() throws JsonProcessingException {
+        return writer.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] reviews() throws JsonProcessingException {
+        return writer.writeValueAsBytes(reviews);
+    }
+}
@@ -0,0 +1,84 @@
+package za.ac.cput.benchmark;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import za.ac.cput.util.JwtUtil;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter.
+ * legacyFilter repeats what the filter used to do (derive the key and build a parser
+ * for each of two claim lookups); filter is the current single parse.
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=JwtAuthBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "myVerySecureJwtSecretKeyThatIsAtLeast256BitsLongAndShouldBeChangedInProduction12345678";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86400000L);
+        token = jwtUtil.generateToken("customer@example.com", "CUSTOMER", "7d0f5c7e-3a7b-4a55-9d0e-2f1f4f3f0a11");
+    }
+
+    @Benchmark
+    public void legacyFilter(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public void filter(Blackhole blackhole) {
+        Claims claims = jwtUtil.parseClaims(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.get("role", String.class));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("customer@example.com", "CUSTOMER", "7d0f5c7e-3a7b-4a55-9d0e-2f1f4f3f0a11");
+    }
+
+    private static Claims legacyParse(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
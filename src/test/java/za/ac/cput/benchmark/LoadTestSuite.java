@@ -0,0 +1,509 @@
+package za.ac.cput.benchmark;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import za.ac.cput.Main;
+import za.ac.cput.domain.Product;
+import za.ac.cput.domain.User;
+import za.ac.cput.domain.UType.Customer;
+import za.ac.cput.factory.ProductFactory;
+import za.ac.cput.factory.ReviewFactory;
+import za.ac.cput.repository.ProductRatingRepository;
+import za.ac.cput.repository.UserRepository;
+import za.ac.cput.service.ProductService;
+import za.ac.cput.util.ZipfDistribution;
+
+/**
+ * End-to-end load test of the REST layer. Boots the application in-process on the h2
+ * profile (random port), seeds a synthetic dataset through the application's own services,
+ * then drives a weighted mix of product reads, review listings, logins and order creation
+ * from many concurrent clients and reports throughput and p50/p95/p99/p999 latency per
+ * endpoint, on the console and as JSON.
+ *
+ * Product popularity is Zipf-distributed, so reads and orders concentrate on a few hot
+ * products the way real traffic does. By default the clients run closed-loop (each sends
+ * its next request when the previous one returns). With rate=N the run is open-loop
+ * instead: requests are scheduled N per second and latency is measured from the scheduled
+ * time, so a stalled server shows up in the percentiles rather than as fewer requests.
+ *
+ * Run with: mvn -Ploadtest verify "-Dloadtest.args=clients=64 seconds=60"
+ *
+ * Options (key=value): products, customers, reviews, clients, seconds, warmup, rate,
+ * mix (e.g. read:60,reviews:25,login:5,order:10), zipf (popularity skew), seed, out.
+ * Arguments starting with -- are passed on to the application, e.g.
+ * --spring.threads.virtual.enabled=true or --logging.level.za.ac.cput=DEBUG. To compare
+ * platform and virtual request threads, run the same options with and without that flag.
+ */
+public class LoadTestSuite {
+
+    private static final String PASSWORD = "LoadTest#2025";
+    private static final String CONTEXT_PATH = "/StudentDesignerMarketplace";
+    private static final int SEED_CHUNK = 1000;
+    private static final String[] CATEGORIES = {"Clothing", "Accessories", "Jewellery", "Home Decor", "Art",
+            "Stationery", "Bags", "Footwear"};
+
+    enum Op { READ, REVIEWS, LOGIN, ORDER }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("products", "5000");
+        options.put("customers", "500");
+        options.put("reviews", "20000");
+        options.put("clients", "64");
+        options.put("seconds", "30");
+        options.put("warmup", "10");
+        options.put("rate", "0");
+        options.put("mix", "read:60,reviews:25,login:5,order:10");
+        options.put("zipf", "1.0");
+        options.put("seed", "42");
+        options.put("out", "target/loadtest-result.json");
+
+        // Console DEBUG logging and login rate limits would measure the terminal and the
+        // limiter (every client shares 127.0.0.1) instead of the request path
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        appProperties.put("spring.profiles.active", "h2");
+        appProperties.put("server.port", "0");
+        appProperties.put("logging.level.org.springframework.security", "WARN");
+        appProperties.put("logging.level.org.springframework.web", "WARN");
+        appProperties.put("logging.level.za.ac.cput", "INFO");
+        appProperties.put("app.rate-limit.login.limits", "/auth/login:1000000000:1000000000");
+
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int split = arg.indexOf('=');
+            if (arg.startsWith("--") && split > 2) {
+                appProperties.put(arg.substring(2, split), arg.substring(split + 1));
+            } else if (split > 0 && options.containsKey(arg.substring(0, split))) {
+                options.put(arg.substring(0, split), arg.substring(split + 1));
+            } else {
+                System.err.println("Unknown option: " + arg + " (options: " + options.keySet() + ")");
+                System.exit(1);
+            }
+        }
+
+        Map<Op, Integer> mix = parseMix(options.get("mix"));
+        int clients = Integer.parseInt(options.get("clients"));
+        long seed = Long.parseLong(options.get("seed"));
+
+        List<String> springArgs = new ArrayList<>();
+        appProperties.forEach((key, value) -> springArgs.add("--" + key + "=" + value));
+        ConfigurableApplicationContext context = SpringApplication.run(Main.class, springArgs.toArray(new String[0]));
+        int exitCode = 0;
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + CONTEXT_PATH;
+
+            long seedStart = System.nanoTime();
+            Dataset dataset = seed(context, Integer.parseInt(options.get("products")),
+                    Integer.parseInt(options.get("customers")), Integer.parseInt(options.get("reviews")),
+                    Double.parseDouble(options.get("zipf")), new Random(seed));
+            System.out.printf("Seeded %d products, %d customers, %d reviews in %.1f s%n",
+                    dataset.productIDs.length, dataset.customerEmails.length, dataset.reviews,
+                    (System.nanoTime() - seedStart) / 1e9);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            List<Client> workers = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                workers.add(new Client(client, baseUrl, dataset, mix, new Random(seed + 1 + i),
+                        dataset.customerEmails[i % dataset.customerEmails.length]));
+            }
+            for (Client worker : workers) {
+                worker.login();
+            }
+
+            double rate = Double.parseDouble(options.get("rate"));
+            run(workers, Long.parseLong(options.get("warmup")), rate);
+            for (Client worker : workers) {
+                worker.reset();
+            }
+            long elapsedNanos = run(workers, Long.parseLong(options.get("seconds")), rate);
+
+            Map<String, Object> report = report(workers, elapsedNanos);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("options", options);
+            result.put("application", appProperties);
+            result.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            result.put("endpoints", report);
+            File out = new File(options.get("out"));
+            if (out.getAbsoluteFile().getParentFile() != null) {
+                out.getAbsoluteFile().getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, result);
+            System.out.println("Results written to " + out.getPath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    // Products, customers and reviews written through the application's services and repositories
+    private static Dataset seed(ConfigurableApplicationContext context, int products, int customers, int reviews,
+                                double zipfExponent, Random random) {
+        ProductService productService = context.getBean(ProductService.class);
+        List<Product> batch = new ArrayList<>(SEED_CHUNK);
+        String[] productIDs = new String[products];
+        double[] prices = new double[products];
+        for (int i = 0; i < products; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            Product product = ProductFactory.buildProduct("Load test product " + i,
+                    "Hand made " + category.toLowerCase() + " item number " + i,
+                    Math.round((50 + random.nextDouble() * 1950) * 100) / 100.0,
+                    "https://example.com/images/" + i + ".jpg", category, random.nextInt(10) != 0,
+                    List.of("S", "M", "L"), List.of("Black", "White"), List.of("Hand made"));
+            productIDs[i] = product.getProductID();
+            prices[i] = product.getPrice();
+            batch.add(product);
+            if (batch.size() == SEED_CHUNK || i == products - 1) {
+                productService.createAll(batch);
+                batch.clear();
+            }
+        }
+
+        // One BCrypt hash shared by every account, hashing each would dominate the seeding time
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String[] emails = new String[customers];
+        List<User> users = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < customers; i++) {
+            emails[i] = "loadtest.customer" + i + "@example.com";
+            users.add(new Customer.Builder()
+                    .setFirstName("Load")
+                    .setLastName("Customer " + i)
+                    .setEmail(emails[i])
+                    .setPassword(hash)
+                    .setRole("CUSTOMER")
+                    .setPaymentMethod("Card")
+                    .setAmount(0.0)
+                    .build());
+            if (users.size() == SEED_CHUNK || i == customers - 1) {
+                userRepository.saveAll(users);
+                users.clear();
+            }
+        }
+
+        // Reviews follow the same popularity as reads, so hot products have long review lists
+        ZipfDistribution popularity = new ZipfDistribution(products, zipfExponent);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        for (int chunk = 0; chunk < reviews; chunk += SEED_CHUNK) {
+            int start = chunk;
+            int end = Math.min(reviews, start + SEED_CHUNK);
+            transaction.executeWithoutResult(status -> {
+                for (int i = start; i < end; i++) {
+                    entityManager.persist(ReviewFactory.buildReview("customer-" + random.nextInt(Math.max(1, customers)),
+                            productIDs[popularity.sample(random.nextDouble())], 1 + random.nextInt(5),
+                            "Load test review " + i + ", the quality is great and delivery was quick."));
+                }
+            });
+        }
+        context.getBean(ProductRatingRepository.class).insertMissing();
+
+        return new Dataset(productIDs, prices, emails, reviews, popularity);
+    }
+
+    // Runs every client for the given time and returns the measured duration
+    private static long run(List<Client> workers, long seconds, double rate) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        // Open loop: request n is due at start + n / rate, whichever client is free takes it
+        AtomicLong schedule = rate > 0 ? new AtomicLong() : null;
+        long intervalNanos = rate > 0 ? (long) (1e9 / rate) : 0;
+        List<Thread> threads = new ArrayList<>();
+        for (Client worker : workers) {
+            Thread thread = new Thread(() -> worker.run(start, end, schedule, intervalNanos), "load-client");
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Map<String, Object> report(List<Client> workers, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        LongBuffer all = new LongBuffer();
+        long allErrors = 0;
+        for (Op op : Op.values()) {
+            LongBuffer merged = new LongBuffer();
+            long errors = 0;
+            Map<Integer, Long> statuses = new TreeMap<>();
+            for (Client worker : workers) {
+                merged.addAll(worker.latencies.get(op));
+                errors += worker.errors.get(op)[0];
+                worker.statuses.get(op).forEach((status, count) -> statuses.merge(status, count, Long::sum));
+            }
+            if (merged.size == 0 && errors == 0) {
+                continue;
+            }
+            all.addAll(merged);
+            allErrors += errors;
+            endpoints.put(op.name().toLowerCase(), summary(op.name().toLowerCase(), merged, errors, statuses, seconds));
+        }
+        endpoints.put("total", summary("total", all, allErrors, null, seconds));
+        return endpoints;
+    }
+
+    private static Map<String, Object> summary(String name, LongBuffer latencies, long errors, Map<Integer, Long> statuses,
+                                               double seconds) {
+        long[] sorted = Arrays.copyOf(latencies.values, latencies.size);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("ok", sorted.length);
+        summary.put("errors", errors);
+        summary.put("throughput", sorted.length / seconds);
+        summary.put("p50Ms", percentile(sorted, 50));
+        summary.put("p95Ms", percentile(sorted, 95));
+        summary.put("p99Ms", percentile(sorted, 99));
+        summary.put("p999Ms", percentile(sorted, 99.9));
+        summary.put("maxMs", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        if (statuses != null) {
+            summary.put("statuses", statuses);
+        }
+        System.out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, sorted.length, errors, sorted.length / seconds,
+                summary.get("p50Ms"), summary.get("p95Ms"), summary.get("p99Ms"), summary.get("p999Ms"),
+                summary.get("maxMs"));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Map<Op, Integer> parseMix(String spec) {
+        Map<Op, Integer> mix = new EnumMap<>(Op.class);
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split(":");
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                mix.put(Op.valueOf(entry[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix needs at least one endpoint with a positive weight");
+        }
+        return mix;
+    }
+
+    // One simulated user: logs in once, then issues requests from the mix
+    private static class Client {
+        final HttpClient http;
+        final String baseUrl;
+        final Dataset dataset;
+        final Op[] ops;
+        final int[] cumulativeWeights;
+        final Random random;
+        final String email;
+        final Map<Op, LongBuffer> latencies = new EnumMap<>(Op.class);
+        final Map<Op, long[]> errors = new EnumMap<>(Op.class);
+        final Map<Op, Map<Integer, Long>> statuses = new EnumMap<>(Op.class);
+        String token;
+        String customerID;
+
+        Client(HttpClient http, String baseUrl, Dataset dataset, Map<Op, Integer> mix, Random random, String email) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.dataset = dataset;
+            this.random = random;
+            this.email = email;
+            this.ops = mix.keySet().toArray(new Op[0]);
+            this.cumulativeWeights = new int[ops.length];
+            int total = 0;
+            for (int i = 0; i < ops.length; i++) {
+                total += mix.get(ops[i]);
+                cumulativeWeights[i] = total;
+            }
+            reset();
+        }
+
+        void reset() {
+            for (Op op : Op.values()) {
+                latencies.put(op, new LongBuffer());
+                errors.put(op, new long[1]);
+                statuses.put(op, new TreeMap<>());
+            }
+        }
+
+        void login() throws Exception {
+            HttpResponse<String> response = http.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode()
+                        + " " + response.body());
+            }
+            JsonNode body = new ObjectMapper().readTree(response.body());
+            token = body.get("token").asText();
+            customerID = body.get("user").get("id").asText();
+        }
+
+        void run(long start, long end, AtomicLong schedule, long intervalNanos) {
+            while (true) {
+                long begin;
+                if (schedule != null) {
+                    begin = start + schedule.getAndIncrement() * intervalNanos;
+                    if (begin >= end) {
+                        return;
+                    }
+                    long wait = begin - System.nanoTime();
+                    if (wait > 0) {
+                        try {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                } else {
+                    begin = System.nanoTime();
+                    if (begin >= end) {
+                        return;
+                    }
+                }
+                Op op = pick();
+                int status;
+                try {
+                    status = http.send(request(op), HttpResponse.BodyHandlers.discarding()).statusCode();
+                } catch (Exception e) {
+                    status = -1;
+                }
+                long latency = System.nanoTime() - begin;
+                statuses.get(op).merge(status, 1L, Long::sum);
+                if (status >= 200 && status < 300) {
+                    latencies.get(op).add(latency);
+                } else {
+                    errors.get(op)[0]++;
+                }
+            }
+        }
+
+        private Op pick() {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < ops.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return ops[i];
+                }
+            }
+            return ops[ops.length - 1];
+        }
+
+        private HttpRequest request(Op op) {
+            int product = dataset.popularity.sample(random.nextDouble());
+            String productID = dataset.productIDs[product];
+            switch (op) {
+                case READ:
+                    return get("/products/read/" + productID);
+                case REVIEWS:
+                    return get("/reviews/product/" + productID);
+                case LOGIN:
+                    return loginRequest();
+                default:
+                    int quantity = 1 + random.nextInt(3);
+                    String body = "{\"productID\":\"" + productID + "\",\"customerID\":\"" + customerID
+                            + "\",\"quantity\":" + quantity + ",\"total\":" + dataset.prices[product] * quantity
+                            + ",\"paymentMethod\":\"Card\"}";
+                    return HttpRequest.newBuilder(URI.create(baseUrl + "/orders/create"))
+                            .timeout(Duration.ofSeconds(60))
+                            .header("Content-Type", "application/json")
+                            .header("Authorization", "Bearer " + token)
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+            }
+        }
+
+        private HttpRequest loginRequest() {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+        }
+    }
+
+    private static class Dataset {
+        final String[] productIDs;
+        final double[] prices;
+        final String[] customerEmails;
+        final int reviews;
+        final ZipfDistribution popularity;
+
+        Dataset(String[] productIDs, double[] prices, String[] customerEmails, int reviews, ZipfDistribution popularity) {
+            this.productIDs = productIDs;
+            this.prices = prices;
+            this.customerEmails = customerEmails;
+            this.reviews = reviews;
+            this.popularity = popularity;
+        }
+    }
+
+    // Growable long[] so each client records latencies without boxing or sharing
+    private static class LongBuffer {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LongBuffer other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+    }
+}
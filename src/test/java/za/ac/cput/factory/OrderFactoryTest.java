@@ -2,6 +2,10 @@ package za.ac.cput.factory;
 
 import org.junit.jupiter.api.Test;
 import za.ac.cput.domain.Order;
+import za.ac.cput.domain.OrderLine;
+
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -12,4 +16,15 @@ class OrderFactoryTest {
         assertNotNull(order);
         assertEquals("p1", order.getProductID());
     }
-}
\ No newline at end of file
+
+    @Test
+    void buildOrderFromImmutableLines(){
+        List<OrderLine> lines = List.of(OrderFactory.buildOrderLine("p1", 2, 100.0),
+                OrderFactory.buildOrderLine("p2", 1, 50.0));
+        Order order = OrderFactory.buildOrder("c1", lines, "Card");
+        assertNotNull(order);
+        assertEquals(3, order.getQuantity());
+        assertEquals(250.0, order.getTotal());
+        assertNull(OrderFactory.buildOrder("c1", Arrays.asList(lines.get(0), null), "Card"));
+    }
+}
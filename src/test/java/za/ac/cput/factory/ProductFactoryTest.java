@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import za.ac.cput.domain.Product;
 
 class ProductFactoryTest {
@@ -15,4 +17,14 @@ class ProductFactoryTest {
         assertEquals("img", product.getImageUrl());
         assertEquals("design", product.getCategory());
     }
-}
\ No newline at end of file
+
+    @Test
+    void buildProductWithAttributes(){
+        Product product = ProductFactory.buildProduct("Hoodie", "Fleece hoodie", 599.0, "img", "apparel",
+                true, List.of(" S", "M ", "", "M"), List.of("Black"), null);
+        assertNotNull(product);
+        assertEquals(List.of("S", "M"), product.getSizes());
+        assertEquals(List.of("Black"), product.getColors());
+        assertEquals(List.of(), product.getFeatures());
+    }
+}
@@ -0,0 +1,82 @@
+package za.ac.cput.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import za.ac.cput.domain.Order;
+import za.ac.cput.domain.Product;
+import za.ac.cput.factory.OrderFactory;
+import za.ac.cput.factory.ProductFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The chunk queries behind exports and index rebuilds must stay a fixed number of statements per chunk
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class ProductChunkQueryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void productChunkLoadsItsListsInThreeMoreStatements() {
+        for (int i = 0; i < 5; i++) {
+            productRepository.save(ProductFactory.buildProduct("Product " + i, "Description", 100 + i, "img.png",
+                    "Tops", true, List.of("S", "M"), List.of("Red", "Blue"), List.of("Organic")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<String> ids = productRepository.findIDsAfter("", Limit.of(3));
+
+        statistics.clear();
+        List<Product> chunk = productRepository.findChunk(ids);
+        chunk.forEach(product -> assertEquals(List.of("S", "M"), product.getSizes()));
+        chunk.forEach(product -> assertEquals(List.of("Red", "Blue"), product.getColors()));
+        chunk.forEach(product -> assertEquals(List.of("Organic"), product.getFeatures()));
+
+        assertEquals(ids, chunk.stream().map(Product::getProductID).toList());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void orderChunkFetchesItsLinesInOneStatement() {
+        for (int i = 0; i < 5; i++) {
+            orderRepository.save(OrderFactory.buildOrder("c" + i, List.of(
+                    OrderFactory.buildOrderLine("p1", 1, 10), OrderFactory.buildOrderLine("p2", 2, 20)), "Card"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<String> ids = orderRepository.findIDsAfter("", Limit.of(3));
+
+        statistics.clear();
+        List<Order> chunk = orderRepository.findChunk(ids);
+        chunk.forEach(order -> assertEquals(2, order.getLines().size()));
+
+        assertEquals(ids, chunk.stream().map(Order::getOrderID).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,61 @@
+package za.ac.cput.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import za.ac.cput.domain.Admin;
+import za.ac.cput.repository.AdminRepository;
+import za.ac.cput.util.VerifiedTokenCache;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AdminServiceTest {
+
+    private AdminRepository repository;
+    private VerifiedTokenCache tokenCache;
+    private AdminService adminService;
+    private Admin existing;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AdminRepository.class);
+        tokenCache = mock(VerifiedTokenCache.class);
+        adminService = new AdminService(repository, tokenCache);
+        existing = new Admin.Builder().setId(1L).setFirstName("Ann").setLastName("Lee")
+                .setEmail("ann@x.com").setPassword("hash-1").setRole("ADMIN").build();
+        when(repository.findById(1L)).thenReturn(Optional.of(existing));
+        when(repository.save(any(Admin.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void passwordChangeRevokesEarlierTokens() {
+        adminService.update(new Admin.Builder().copy(existing).setPassword("hash-2").build());
+
+        verify(tokenCache).revokeAll("ann@x.com");
+    }
+
+    @Test
+    void emailChangeRevokesTokensOfTheOldEmail() {
+        adminService.update(new Admin.Builder().copy(existing).setEmail("ann@y.com").build());
+
+        verify(tokenCache).revokeAll("ann@x.com");
+    }
+
+    @Test
+    void nameChangeKeepsTokens() {
+        adminService.update(new Admin.Builder().copy(existing).setFirstName("Anne").build());
+
+        verify(tokenCache, never()).revokeAll(anyString());
+    }
+
+    @Test
+    void deleteRevokesTokens() {
+        adminService.delete(1L);
+
+        verify(repository).deleteById(1L);
+        verify(tokenCache).revokeAll("ann@x.com");
+    }
+}
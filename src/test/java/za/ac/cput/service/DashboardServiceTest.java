@@ -0,0 +1,131 @@
+package za.ac.cput.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import za.ac.cput.domain.Order;
+import za.ac.cput.factory.OrderFactory;
+import za.ac.cput.repository.AdminRepository;
+import za.ac.cput.repository.CustomerRepository;
+import za.ac.cput.repository.OrderRepository;
+import za.ac.cput.repository.ProductRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private OrderRepository orderRepository;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        Order existing = OrderFactory.buildOrder("p1", "c1", 1, 100, "Card");
+        when(orderRepository.summarizeByStatusAndMethod()).thenReturn(List.<Object[]>of(
+                new Object[]{"PENDING", "Card", 3L, 300.0},
+                new Object[]{"PAID", "EFT", 1L, 50.0}));
+        when(orderRepository.findLatestPerCustomer()).thenReturn(List.<Object[]>of(
+                new Object[]{"c1", existing.getOrderID(), existing.getCreatedAt(), 100.0, "Card", "PENDING"}));
+        dashboardService = new DashboardService(orderRepository, mock(CustomerRepository.class),
+                mock(ProductRepository.class), mock(AdminRepository.class));
+        dashboardService.rebuild();
+    }
+
+    @Test
+    void rebuildAggregatesRows() {
+        DashboardService.Dashboard dashboard = dashboardService.snapshot();
+        assertEquals(4, dashboard.getTotalOrders());
+        assertEquals(350.0, dashboard.getTotalRevenue());
+        assertEquals(3, dashboard.getByPaymentStatus().get("PENDING").getOrders());
+        assertEquals(50.0, dashboard.getByPaymentMethod().get("EFT").getRevenue());
+        assertNotNull(dashboard.getLatestOrders().get("c1"));
+    }
+
+    @Test
+    void placedAndChangedOrdersUpdateSummary() {
+        Order order = OrderFactory.buildOrder("p2", "c1", 2, 80, "Cash");
+        dashboardService.orderPlaced(order);
+        Order paid = new Order.Builder().copy(order).setPaymentStatus("PAID").build();
+        dashboardService.orderChanged(order, paid);
+
+        DashboardService.Dashboard dashboard = dashboardService.snapshot();
+        assertEquals(5, dashboard.getTotalOrders());
+        assertEquals(430.0, dashboard.getTotalRevenue());
+        assertEquals(2, dashboard.getByPaymentStatus().get("PAID").getOrders());
+        assertNull(dashboard.getByPaymentStatus().get("PENDING_PICKUP"));
+        assertEquals(order.getOrderID(), dashboard.getLatestOrders().get("c1").getOrderID());
+        assertEquals("PAID", dashboard.getLatestOrders().get("c1").getPaymentStatus());
+    }
+
+    @Test
+    void removingOnlyOrderClearsLatest() {
+        Order order = OrderFactory.buildOrder("p2", "c2", 1, 20, "Card");
+        dashboardService.orderPlaced(order);
+        when(orderRepository.findByCustomerIDOrderByCreatedAtDescOrderIDDesc(eq("c2"), any()))
+                .thenReturn(Collections.emptyList());
+        dashboardService.orderRemoved(order);
+
+        DashboardService.Dashboard dashboard = dashboardService.snapshot();
+        assertEquals(4, dashboard.getTotalOrders());
+        assertNull(dashboard.getLatestOrders().get("c2"));
+    }
+
+    @Test
+    void rebuildWaitsForACommittedOrderToBeApplied() throws Exception {
+        Order order = OrderFactory.buildOrder("p2", "c3", 1, 40, "Card");
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Void> transaction = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                dashboardService.orderPlaced(order);
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+                // Committed, not yet applied
+                committed.countDown();
+                await(finish);
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+                synchronizations.forEach(synchronization ->
+                        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        await(committed);
+
+        // A rebuild now already sees the committed order in the table
+        when(orderRepository.summarizeByStatusAndMethod()).thenReturn(List.<Object[]>of(
+                new Object[]{"PENDING", "Card", 4L, 340.0},
+                new Object[]{"PAID", "EFT", 1L, 50.0}));
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(dashboardService::rebuild);
+        assertThrows(TimeoutException.class, () -> rebuild.get(200, TimeUnit.MILLISECONDS));
+
+        finish.countDown();
+        transaction.get(5, TimeUnit.SECONDS);
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        DashboardService.Dashboard dashboard = dashboardService.snapshot();
+        assertEquals(5, dashboard.getTotalOrders());
+        assertEquals(390.0, dashboard.getTotalRevenue());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package za.ac.cput.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import za.ac.cput.domain.Order;
+import za.ac.cput.factory.OrderFactory;
+import za.ac.cput.repository.OrderRepository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against H2 without a test transaction, so each update commits and row locks are real
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({OrderService.class, DashboardService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = orderRepository.save(OrderFactory.buildOrder("p1", "c1", 1, 100, "Card"));
+        dashboardService.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentUpdatesToOneOrderCountTheChangeOnce() throws Exception {
+        Order paid = new Order.Builder().copy(order).setPaymentStatus("PAID").build();
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    orderService.update(paid);
+                    updated.countDown();
+                    await(commit);
+                }));
+        await(updated);
+
+        // The second update waits for the first to commit and then starts from PAID
+        CompletableFuture<Order> second = CompletableFuture.supplyAsync(() -> orderService.update(paid));
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+        commit.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals("PAID", second.get(5, TimeUnit.SECONDS).getPaymentStatus());
+
+        DashboardService.Dashboard dashboard = dashboardService.snapshot();
+        assertEquals(1, dashboard.getTotalOrders());
+        assertEquals(1, dashboard.getByPaymentStatus().get("PAID").getOrders());
+        assertNull(dashboard.getByPaymentStatus().get("PENDING"));
+        assertEquals("PAID", dashboard.getLatestOrders().get("c1").getPaymentStatus());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package za.ac.cput.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import za.ac.cput.domain.Product;
+import za.ac.cput.factory.ProductFactory;
+import za.ac.cput.repository.ProductRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductFacetServiceTest {
+
+    private ProductFacetService facetService;
+    private Product hoodie;
+    private Product dress;
+
+    @BeforeEach
+    void setUp() {
+        hoodie = ProductFactory.buildProduct("Hoodie", "Fleece hoodie", 599, "img", "apparel",
+                true, List.of("M", "L"), List.of("Black", "Grey"), List.of());
+        dress = ProductFactory.buildProduct("Dress", "Cotton dress", 299, "img", "apparel",
+                false, List.of("S", "M"), List.of("White"), List.of());
+        Product wallet = ProductFactory.buildProduct("Wallet", "Leather wallet", 99, "img", "accessories",
+                true, List.of(), List.of("Black"), List.of());
+        Map<String, Product> stored = Stream.of(hoodie, dress, wallet)
+                .collect(Collectors.toMap(Product::getProductID, product -> product));
+        ProductRepository repository = mock(ProductRepository.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<Product>>>getArgument(1).accept(List.of(hoodie, dress, wallet));
+            return null;
+        }).when(repository).forEachChunk(anyInt(), any());
+        when(repository.findAllInOrder(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0)
+                .stream().map(stored::get).filter(Objects::nonNull).toList());
+        facetService = new ProductFacetService(repository);
+        facetService.rebuild();
+    }
+
+    @Test
+    void filterAndsFacetsAndOrsValues() {
+        ProductFacetService.FacetResult result = facetService.filter(
+                Map.of(ProductFacetService.SIZE, List.of("m"), ProductFacetService.COLOR, List.of("black", "white")), 10);
+        assertEquals(2, result.getTotal());
+        assertTrue(result.getProducts().containsAll(List.of(hoodie, dress)));
+    }
+
+    @Test
+    void countsIgnoreOwnFacetSelection() {
+        ProductFacetService.FacetResult result = facetService.filter(
+                Map.of(ProductFacetService.COLOR, List.of("black")), 10);
+        assertEquals(2, result.getTotal());
+        assertEquals(2, result.getFacets().get(ProductFacetService.COLOR).get("black"));
+        assertEquals(1, result.getFacets().get(ProductFacetService.COLOR).get("white"));
+        assertEquals(1, result.getFacets().get(ProductFacetService.CATEGORY).get("apparel"));
+        assertEquals(1, result.getFacets().get(ProductFacetService.PRICE).get("0-250"));
+    }
+
+    @Test
+    void removeClearsProductFromFacets() {
+        facetService.remove(hoodie.getProductID());
+        ProductFacetService.FacetResult result = facetService.filter(
+                Map.of(ProductFacetService.IN_STOCK, List.of("true")), 10);
+        assertEquals(1, result.getTotal());
+        assertNull(result.getFacets().get(ProductFacetService.SIZE).get("l"));
+
+        // The freed slot is reused without the old product's values
+        facetService.index(hoodie);
+        assertEquals(2, facetService.filter(Map.of(ProductFacetService.SIZE, List.of("l", "s")), 10).getTotal());
+    }
+}
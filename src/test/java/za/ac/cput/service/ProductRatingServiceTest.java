@@ -0,0 +1,47 @@
+package za.ac.cput.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import za.ac.cput.Configuration.CacheConfig;
+import za.ac.cput.repository.ProductRatingRepository;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProductRatingServiceTest {
+
+    private ProductRatingRepository repository;
+    private Cache cache;
+    private ProductRatingService ratingService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ProductRatingRepository.class);
+        cache = mock(Cache.class);
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(CacheConfig.RATINGS)).thenReturn(cache);
+        ratingService = new ProductRatingService(repository, cacheManager);
+    }
+
+    @Test
+    void reviewWritesAdjustWithOneUpsertAndEvict() {
+        ratingService.reviewAdded("p1", 5);
+        ratingService.reviewRemoved("p1", 3);
+
+        // No existence check or separate insert: the upsert creates the first review's row
+        verify(repository).adjust("p1", 5, 1);
+        verify(repository).adjust("p1", 3, -1);
+        verifyNoMoreInteractions(repository);
+        verify(cache, times(2)).evict("p1");
+    }
+
+    @Test
+    void reviewWithoutProductLeavesSummariesAlone() {
+        ratingService.reviewAdded(null, 4);
+
+        verify(repository, never()).adjust(anyString(), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,72 @@
+package za.ac.cput.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import za.ac.cput.domain.Product;
+import za.ac.cput.factory.ProductFactory;
+import za.ac.cput.repository.ProductRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchServiceTest {
+
+    private ProductSearchService searchService;
+    private Product laptopBag;
+    private Product lamp;
+    private final Map<String, Product> stored = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        laptopBag = ProductFactory.buildProduct("Laptop Bag", "Padded bag for a laptop.", 699, "img", "accessories");
+        lamp = ProductFactory.buildProduct("Lamp", "Desk lamp for studying, fits next to any laptop.", 299, "img", "furniture");
+        stored.put(laptopBag.getProductID(), laptopBag);
+        stored.put(lamp.getProductID(), lamp);
+        ProductRepository repository = mock(ProductRepository.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<Product>>>getArgument(1).accept(List.of(laptopBag, lamp));
+            return null;
+        }).when(repository).forEachChunk(anyInt(), any());
+        // The index keeps ids only; result pages are loaded from the repository
+        when(repository.findAllInOrder(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0)
+                .stream().map(stored::get).filter(Objects::nonNull).toList());
+        searchService = new ProductSearchService(repository);
+        searchService.rebuild();
+    }
+
+    @Test
+    void searchRanksNameMatchFirst() {
+        List<Product> results = searchService.search("LAPTOP", 10);
+        assertEquals(2, results.size());
+        assertEquals(laptopBag, results.get(0));
+    }
+
+    @Test
+    void searchMatchesPrefix() {
+        List<Product> results = searchService.search("stud", 10);
+        assertEquals(List.of(lamp), results);
+    }
+
+    @Test
+    void indexAndRemoveUpdateResults() {
+        Product speaker = ProductFactory.buildProduct("Speaker", "Portable speaker.", 499, "img", "accessories");
+        stored.put(speaker.getProductID(), speaker);
+        searchService.index(speaker);
+        assertEquals(List.of(speaker), searchService.search("speaker", 10));
+
+        searchService.remove(speaker.getProductID());
+        assertTrue(searchService.search("speaker", 10).isEmpty());
+        assertEquals(2, searchService.size());
+    }
+}
@@ -0,0 +1,104 @@
+package za.ac.cput.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import za.ac.cput.Configuration.CacheConfig;
+import za.ac.cput.domain.Product;
+import za.ac.cput.factory.ProductFactory;
+import za.ac.cput.repository.ProductRepository;
+import za.ac.cput.util.EntityVersions;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductServiceTest {
+
+    private ProductRepository repository;
+    private EntityVersions versions;
+    private ProductService productService;
+    private Product existing;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ProductRepository.class);
+        versions = new EntityVersions();
+        productService = new ProductService(repository, mock(ProductSearchService.class),
+                mock(ProductFacetService.class), versions, new CaffeineCacheManager(CacheConfig.PRODUCTS));
+        existing = ProductFactory.buildProduct("Lamp", "Desk lamp", 299, "/assets/images/lamp.png", "accessories");
+        when(repository.existsById(existing.getProductID())).thenReturn(true);
+        when(repository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void updateChangesTheReadETag() {
+        String before = versions.etag(EntityVersions.PRODUCT, existing.getProductID());
+
+        productService.update(new Product.Builder().copy(existing).setPrice(199).build());
+
+        String after = versions.etag(EntityVersions.PRODUCT, existing.getProductID());
+        assertNotEquals(before, after);
+        assertFalse(EntityVersions.matches(before, after, true));
+    }
+
+    @Test
+    void createAndBulkCreateChangeTheReadETag() {
+        Product other = ProductFactory.buildProduct("Wallet", "Leather wallet", 99, "/assets/images/wallet.jpeg", "accessories");
+        String existingBefore = versions.etag(EntityVersions.PRODUCT, existing.getProductID());
+        String otherBefore = versions.etag(EntityVersions.PRODUCT, other.getProductID());
+
+        productService.create(existing);
+        when(repository.persistAll(List.of(other))).thenReturn(1);
+        productService.createAll(List.of(other));
+
+        assertNotEquals(existingBefore, versions.etag(EntityVersions.PRODUCT, existing.getProductID()));
+        assertNotEquals(otherBefore, versions.etag(EntityVersions.PRODUCT, other.getProductID()));
+    }
+
+    @Test
+    void updateDuringALoadOfTheOldRowLeavesTheNewRowCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById(existing.getProductID())).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(existing);
+        });
+        Thread reader = new Thread(() -> productService.read(existing.getProductID()));
+        reader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // The write lands while the reader still holds the old row
+        Thread writer = new Thread(() -> productService.update(new Product.Builder().copy(existing).setPrice(199).build()));
+        writer.start();
+        Thread.sleep(200);
+        release.countDown();
+        reader.join(5000);
+        writer.join(5000);
+
+        assertEquals(199, productService.read(existing.getProductID()).getPrice());
+        verify(repository, times(1)).findById(existing.getProductID());
+    }
+
+    @Test
+    void unknownProductsAreNotCached() {
+        assertNull(productService.read("missing"));
+        assertNull(productService.read("missing"));
+
+        verify(repository, times(2)).findById("missing");
+    }
+
+    @Test
+    void updateOfUnknownProductLeavesETagAlone() {
+        String before = versions.etag(EntityVersions.PRODUCT, "missing");
+
+        assertNull(productService.update(new Product.Builder().copy(existing).setProductID("missing").build()));
+        assertEquals(before, versions.etag(EntityVersions.PRODUCT, "missing"));
+    }
+}
@@ -0,0 +1,102 @@
+package za.ac.cput.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import za.ac.cput.domain.Review;
+import za.ac.cput.factory.ReviewFactory;
+import za.ac.cput.repository.ReviewRepository;
+import za.ac.cput.util.CursorPage;
+import za.ac.cput.util.EntityVersions;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReviewServiceTest {
+
+    private ReviewRepository repository;
+    private ProductRatingService ratings;
+    private EntityVersions versions;
+    private ReviewService reviewService;
+    private Review existing;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ReviewRepository.class);
+        ratings = mock(ProductRatingService.class);
+        versions = mock(EntityVersions.class);
+        reviewService = new ReviewService(repository, versions, ratings);
+        existing = ReviewFactory.buildReview("c1", "p1", 4, "Good");
+        when(repository.findById(existing.getReviewID())).thenReturn(Optional.of(existing));
+        when(repository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void updateMovesTheRatingBetweenSummaries() {
+        reviewService.update(new Review.Builder().copy(existing).setProductID("p2").setRating(2).build());
+
+        verify(ratings).reviewRemoved("p1", 4);
+        verify(ratings).reviewAdded("p2", 2);
+    }
+
+    @Test
+    void commentOnlyUpdateLeavesSummaryAlone() {
+        reviewService.update(new Review.Builder().copy(existing).setComment("Great").build());
+
+        verify(ratings, never()).reviewRemoved(anyString(), anyInt());
+        verify(ratings, never()).reviewAdded(anyString(), anyInt());
+    }
+
+    @Test
+    void listingEtagsAreBumpedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            reviewService.create(ReviewFactory.buildReview("c2", "p1", 5, "Nice"));
+
+            verifyNoInteractions(versions);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(versions).bump(EntityVersions.PRODUCT_REVIEWS, "p1");
+            verify(versions).bump(EntityVersions.ALL_REVIEWS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deleteRemovesTheRating() {
+        reviewService.delete(existing.getReviewID());
+
+        verify(repository).deleteById(existing.getReviewID());
+        verify(ratings).reviewRemoved("p1", 4);
+    }
+
+    @Test
+    void highestRatedPageContinuesAfterRatingAndTimestamp() {
+        Review second = ReviewFactory.buildReview("c2", "p1", 3, "Fine");
+        when(repository.findByProductIDHighest(eq("p1"), any())).thenReturn(List.of(existing, second));
+
+        CursorPage<Review> page = reviewService.getProductReviewPage("p1", "highest", null, 1);
+        assertEquals(List.of(existing), page.getItems());
+        assertTrue(page.isHasMore());
+
+        reviewService.getProductReviewPage("p1", "HIGHEST", page.getNextCursor(), 1);
+        verify(repository).findByProductIDHighestAfter(eq("p1"), eq(4), eq(existing.getCreatedAt()),
+                eq(existing.getReviewID()), any());
+    }
+
+    @Test
+    void pageRejectsUnknownSortAndBadCursor() {
+        assertThrows(IllegalArgumentException.class, () -> reviewService.getProductReviewPage("p1", "best", null, 20));
+        String newestCursor = CursorPage.encodeCursor(existing.getCreatedAt().toString(), existing.getReviewID());
+        assertThrows(IllegalArgumentException.class,
+                () -> reviewService.getProductReviewPage("p1", "lowest", newestCursor, 20));
+    }
+}
@@ -0,0 +1,90 @@
+package za.ac.cput.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, 1);
+        String hash = encoder.encode("secret123");
+
+        assertTrue(encoder.matches("secret123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(3L, encoder.getStats().get("completed"));
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, 2);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> encoder.encode("b"));
+            while (!encoder.getStats().get("queueDepth").equals(1)) {
+                Thread.sleep(5);
+            }
+
+            PasswordHashingBusyException busy = assertThrows(PasswordHashingBusyException.class,
+                    () -> encoder.encode("c"));
+            assertEquals(2, busy.getRetryAfterSeconds());
+
+            release.countDown();
+            assertEquals("a", running.get(5, TimeUnit.SECONDS));
+            assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+            Map<String, Object> stats = encoder.getStats();
+            assertEquals(1L, stats.get("rejected"));
+            assertEquals(1, stats.get("peakQueueDepth"));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void findsRejectionInCauseChain() {
+        PasswordHashingBusyException busy = new PasswordHashingBusyException(1);
+        assertSame(busy, PasswordHashingBusyException.find(new RuntimeException("wrapped", busy)));
+        assertNull(PasswordHashingBusyException.find(new RuntimeException("other")));
+    }
+}
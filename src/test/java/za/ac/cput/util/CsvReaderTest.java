@@ -0,0 +1,36 @@
+package za.ac.cput.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsAndSkipsBlankLines() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(
+                "name,description\r\n\r\n\"Bag, large\",\"say \"\"hi\"\"\nsecond line\"\nLamp,\n"), 1000);
+
+        assertEquals(List.of("name", "description"), csv.next());
+        assertEquals(List.of("Bag, large", "say \"hi\"\nsecond line"), csv.next());
+        assertEquals(3, csv.getRecordLine());
+        assertEquals(List.of("Lamp", ""), csv.next());
+        assertEquals(5, csv.getRecordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void skipsRecordsThatAreTooLong() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b\n" + "x".repeat(50) + "\nc,d"), 20);
+
+        assertEquals(List.of("a", "b"), csv.next());
+        CsvReader.RecordTooLongException e = assertThrows(CsvReader.RecordTooLongException.class, csv::next);
+        assertEquals(2, e.getLine());
+        assertEquals(List.of("c", "d"), csv.next());
+        assertNull(csv.next());
+    }
+}
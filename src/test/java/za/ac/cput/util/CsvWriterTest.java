@@ -0,0 +1,29 @@
+package za.ac.cput.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvWriterTest {
+
+    @Test
+    void quotedFieldsRoundTripThroughCsvReader() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRecord("Bag, large", "say \"hi\"\nsecond line", 12.5, null);
+        csv.writeRecord("Lamp", true);
+        csv.flush();
+
+        assertEquals("\"Bag, large\",\"say \"\"hi\"\"\nsecond line\",12.5,\r\nLamp,true\r\n", out.toString());
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()), 1000);
+        assertEquals(List.of("Bag, large", "say \"hi\"\nsecond line", "12.5", ""), reader.next());
+        assertEquals(List.of("Lamp", "true"), reader.next());
+        assertNull(reader.next());
+    }
+}
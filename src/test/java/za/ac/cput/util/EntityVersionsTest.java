@@ -0,0 +1,27 @@
+package za.ac.cput.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityVersionsTest {
+
+    @Test
+    void matchesListedTagsWithWeakComparison() {
+        EntityVersions versions = new EntityVersions();
+        String etag = versions.etag(EntityVersions.PRODUCT, "p1");
+
+        assertTrue(EntityVersions.matches("\"other\", W/" + etag, etag, false));
+        assertFalse(EntityVersions.matches("\"other\"", etag, true));
+        assertFalse(EntityVersions.matches(null, etag, true));
+    }
+
+    @Test
+    void wildcardOnlyMatchesExistingResources() {
+        String etag = new EntityVersions().etag(EntityVersions.PRODUCT, "p1");
+
+        assertTrue(EntityVersions.matches("*", etag, true));
+        assertFalse(EntityVersions.matches("*", etag, false));
+        assertTrue(EntityVersions.matches("*", etag));
+    }
+}
@@ -0,0 +1,84 @@
+package za.ac.cput.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoginRateLimitFilterTest {
+
+    private LoginRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LoginRateLimitFilter(List.of("/auth/login:100:1"), Duration.ofMinutes(1), 1000, new ObjectMapper());
+    }
+
+    @Test
+    void chunkedBodiesAreLimitedPerEmail() throws Exception {
+        assertEquals(200, login(chunked("{\"username\":\"a@b.com\",\"password\":\"x\"}")).getStatus());
+
+        // No Content-Length no longer skips the email bucket
+        assertEquals(429, login(chunked("{\"username\":\"A@b.com\",\"password\":\"y\"}")).getStatus());
+    }
+
+    @Test
+    void oversizedBodiesAreRejectedWhateverTheDeclaredLength() throws Exception {
+        String padding = "x".repeat(17 * 1024);
+        MockHttpServletRequest declared = request("{\"username\":\"a@b.com\",\"password\":\"" + padding + "\"}");
+
+        assertEquals(413, login(declared).getStatus());
+        assertEquals(413, login(chunked("{\"username\":\"a@b.com\",\"password\":\"" + padding + "\"}")).getStatus());
+    }
+
+    @Test
+    void cachedBodySupportsReadListeners() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("{\"username\":\"a@b.com\"}"), new MockHttpServletResponse(), chain);
+        ReadListener listener = mock(ReadListener.class);
+
+        chain.getRequest().getInputStream().setReadListener(listener);
+
+        verify(listener).onDataAvailable();
+        verify(listener).onAllDataRead();
+    }
+
+    private MockHttpServletResponse login(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // Transfer-Encoding: chunked, so the container reports no Content-Length
+    private static MockHttpServletRequest chunked(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+        };
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
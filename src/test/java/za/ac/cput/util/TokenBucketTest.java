@@ -0,0 +1,36 @@
+package za.ac.cput.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(5, MINUTE, 0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(0));
+        }
+        // Next token arrives after window / capacity
+        assertEquals(TimeUnit.SECONDS.toNanos(12), bucket.tryConsume(0));
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, MINUTE, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+        assertTrue(bucket.tryConsume(TimeUnit.SECONDS.toNanos(29)) > 0);
+        assertEquals(0, bucket.tryConsume(TimeUnit.SECONDS.toNanos(30)));
+        // A long idle period refills up to capacity only
+        long later = TimeUnit.MINUTES.toNanos(10);
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertTrue(bucket.tryConsume(later) > 0);
+    }
+}
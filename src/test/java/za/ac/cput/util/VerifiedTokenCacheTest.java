@@ -0,0 +1,73 @@
+package za.ac.cput.util;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "myVerySecureJwtSecretKeyThatIsAtLeast256BitsLongAndShouldBeChangedInProduction12345678";
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 60000L);
+        tokenCache = new VerifiedTokenCache(jwtUtil, 100, 60000L);
+    }
+
+    @Test
+    void repeatRequestsHitTheCache() {
+        String token = jwtUtil.generateToken("a@b.com", "CUSTOMER", "42");
+        VerifiedTokenCache.VerifiedToken first = tokenCache.verify(token);
+        VerifiedTokenCache.VerifiedToken second = tokenCache.verify(token);
+
+        assertEquals("a@b.com", first.getSubject());
+        assertEquals("ROLE_CUSTOMER", first.getAuthorities().get(0).getAuthority());
+        assertSame(first, second);
+        assertEquals(1, tokenCache.getNativeCache().stats().hitCount());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = jwtUtil.generateToken("a@b.com", "CUSTOMER", "42");
+        assertThrows(JwtException.class, () -> tokenCache.verify(token + "x"));
+    }
+
+    @Test
+    void revokedTokenIsRejected() {
+        String token = jwtUtil.generateToken("a@b.com", "CUSTOMER", "42");
+        tokenCache.verify(token);
+        tokenCache.revoke(token);
+        assertNull(tokenCache.verify(token));
+        assertEquals(1, tokenCache.getRevokedCount());
+    }
+
+    @Test
+    void revokeAllRejectsEarlierTokensOnly() {
+        long now = System.currentTimeMillis();
+        String old = Jwts.builder()
+                .setSubject("a@b.com")
+                .claim("role", "CUSTOMER")
+                .setIssuedAt(new Date(now - 5000))
+                .setExpiration(new Date(now + 60000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        String other = jwtUtil.generateToken("c@d.com", "CUSTOMER", "43");
+
+        tokenCache.revokeAll("a@b.com");
+        String fresh = jwtUtil.generateToken("a@b.com", "CUSTOMER", "42");
+
+        assertNull(tokenCache.verify(old));
+        assertNotNull(tokenCache.verify(fresh));
+        assertNotNull(tokenCache.verify(other));
+    }
+}
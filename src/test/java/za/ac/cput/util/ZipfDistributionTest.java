@@ -0,0 +1,37 @@
+package za.ac.cput.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfDistributionTest {
+
+    @Test
+    void lowRanksAreDrawnMostOften() {
+        ZipfDistribution zipf = new ZipfDistribution(1000, 1.0);
+        Random random = new Random(42);
+        int[] counts = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[zipf.sample(random.nextDouble())]++;
+        }
+
+        // Rank 0 has probability 1 / H(1000), about 13%, and twice the weight of rank 1
+        assertEquals(0.134, counts[0] / 100_000.0, 0.01);
+        assertEquals(2.0, counts[0] / (double) counts[1], 0.2);
+        assertTrue(counts[1] > counts[10] && counts[10] > counts[500]);
+    }
+
+    @Test
+    void zeroExponentIsUniformAndSamplesStayInRange() {
+        ZipfDistribution zipf = new ZipfDistribution(4, 0);
+
+        assertEquals(0, zipf.sample(0.0));
+        assertEquals(1, zipf.sample(0.26));
+        assertEquals(3, zipf.sample(0.99));
+        assertEquals(3, zipf.sample(1.0));
+        assertEquals(4, zipf.size());
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+    }
+}